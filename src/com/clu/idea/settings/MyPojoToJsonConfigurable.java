@@ -0,0 +1,199 @@
+package com.clu.idea.settings;
+
+import com.clu.idea.MyPluginException;
+import com.clu.idea.utils.ImplementationResolver;
+import com.clu.idea.utils.OutputMode;
+import com.clu.idea.utils.SampleValueGenerator;
+import com.clu.idea.utils.TypeDefaultRules;
+import com.intellij.openapi.options.Configurable;
+import com.intellij.openapi.options.ConfigurationException;
+import com.intellij.openapi.ui.ComboBox;
+import com.intellij.ui.components.JBCheckBox;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.components.JBTextArea;
+import com.intellij.ui.components.JBTextField;
+import com.intellij.util.ui.FormBuilder;
+import org.jetbrains.annotations.Nls;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.util.Objects;
+
+public class MyPojoToJsonConfigurable implements Configurable {
+
+    private JBTextArea typeDefaultRules;
+
+    private JBTextField sampleTime;
+
+    private JBTextField sampleSeed;
+
+    private JBCheckBox realisticValues;
+
+    private JBTextField collectionSize;
+
+    private JBCheckBox varyElements;
+
+    private JBCheckBox libraryJavadoc;
+
+    private JBCheckBox resolveImplementations;
+
+    private JBTextArea implementationMappings;
+
+    private ComboBox<OutputMode> outputMode;
+
+    private JBTextField indentWidth;
+
+    private JBCheckBox recordSnapshots;
+
+    private JBTextField stubDirectory;
+
+    @Nls
+    @Override
+    public String getDisplayName() {
+        return "My Pojo To Json";
+    }
+
+    @Nullable
+    @Override
+    public JComponent createComponent() {
+        typeDefaultRules = new JBTextArea(10, 60);
+        sampleTime = new JBTextField();
+        sampleTime.getEmptyText().setText("conversion start time");
+        sampleSeed = new JBTextField();
+        realisticValues = new JBCheckBox("Realistic values (vary numbers, strings and dates by field name)");
+        collectionSize = new JBTextField();
+        varyElements = new JBCheckBox("Vary default values per collection element");
+        libraryJavadoc = new JBCheckBox("Read javadoc of library classes from attached sources (slower)");
+        resolveImplementations = new JBCheckBox("Resolve interfaces and abstract classes to their single implementation in the project");
+        implementationMappings = new JBTextArea(4, 60);
+        outputMode = new ComboBox<>(OutputMode.values());
+        indentWidth = new JBTextField();
+        recordSnapshots = new JBCheckBox("Record converted shapes for change impact reports (stored in the project)");
+        stubDirectory = new JBTextField();
+        return FormBuilder.createFormBuilder()
+            .addLabeledComponent("Output mode:", outputMode)
+            .addLabeledComponent("Indent width (pretty):", indentWidth)
+            .addComponent(recordSnapshots)
+            .addLabeledComponent("Mock stub directory:", stubDirectory)
+            .addLabeledComponent("Sample time (yyyy-MM-dd HH:mm:ss):", sampleTime)
+            .addLabeledComponent("Sample seed:", sampleSeed)
+            .addComponent(realisticValues)
+            .addLabeledComponent("Elements per array/collection/map:", collectionSize)
+            .addComponent(varyElements)
+            .addComponent(libraryJavadoc)
+            .addLabeledComponent(new JBLabel("<html>Type default rules, one per line: <code>fqn|super|annotation|package &lt;name&gt; = &lt;json literal&gt; | @generator</code><br/>"
+                + "e.g. <code>fqn com.acme.Money = 0.00</code>, <code>package com.acme.ids = @uuid</code></html>"), new JBScrollPane(typeDefaultRules), true)
+            .addComponent(resolveImplementations)
+            .addLabeledComponent(new JBLabel("<html>Chosen implementations, one per line: <code>&lt;base fqn&gt; -&gt; &lt;implementation fqn&gt;</code></html>"),
+                new JBScrollPane(implementationMappings), true)
+            .addComponentFillVertically(new JPanel(), 0)
+            .getPanel();
+    }
+
+    @Override
+    public boolean isModified() {
+        MyPojoToJsonSettings settings = MyPojoToJsonSettings.getInstance();
+        return !Objects.equals(typeDefaultRules.getText(), settings.typeDefaultRules)
+            || !Objects.equals(sampleTime.getText().trim(), settings.sampleTime)
+            || !Objects.equals(sampleSeed.getText().trim(), String.valueOf(settings.sampleSeed))
+            || realisticValues.isSelected() != settings.realisticValues
+            || !Objects.equals(collectionSize.getText().trim(), String.valueOf(settings.collectionSize))
+            || varyElements.isSelected() != settings.varyElements
+            || libraryJavadoc.isSelected() != settings.libraryJavadoc
+            || resolveImplementations.isSelected() != settings.resolveImplementations
+            || !Objects.equals(implementationMappings.getText(), settings.implementationMappings)
+            || outputMode.getSelectedItem() != settings.outputMode
+            || !Objects.equals(indentWidth.getText().trim(), String.valueOf(settings.indentWidth))
+            || recordSnapshots.isSelected() != settings.recordSnapshots
+            || !Objects.equals(stubDirectory.getText().trim(), settings.stubDirectory);
+    }
+
+    @Override
+    public void apply() throws ConfigurationException {
+        try {
+            TypeDefaultRules.compile(typeDefaultRules.getText());
+            ImplementationResolver.compile(implementationMappings.getText());
+            SampleValueGenerator.create(sampleTime.getText(), 0, false);
+        } catch (MyPluginException e) {
+            throw new ConfigurationException(e.getMessage());
+        }
+        long seed;
+        try {
+            seed = Long.parseLong(sampleSeed.getText().trim());
+        } catch (NumberFormatException e) {
+            throw new ConfigurationException("Sample seed must be a number");
+        }
+        int size;
+        try {
+            size = Integer.parseInt(collectionSize.getText().trim());
+        } catch (NumberFormatException e) {
+            size = 0;
+        }
+        if (size < 1) {
+            throw new ConfigurationException("Elements per array/collection/map must be a positive number");
+        }
+        int indent;
+        try {
+            indent = Integer.parseInt(indentWidth.getText().trim());
+        } catch (NumberFormatException e) {
+            indent = 0;
+        }
+        if (indent < 1) {
+            throw new ConfigurationException("Indent width must be a positive number");
+        }
+        if (stubDirectory.getText().trim().isEmpty()) {
+            throw new ConfigurationException("Mock stub directory must not be empty");
+        }
+        MyPojoToJsonSettings settings = MyPojoToJsonSettings.getInstance();
+        settings.typeDefaultRules = typeDefaultRules.getText();
+        settings.sampleTime = sampleTime.getText().trim();
+        settings.sampleSeed = seed;
+        settings.realisticValues = realisticValues.isSelected();
+        settings.collectionSize = size;
+        settings.varyElements = varyElements.isSelected();
+        settings.libraryJavadoc = libraryJavadoc.isSelected();
+        settings.resolveImplementations = resolveImplementations.isSelected();
+        settings.implementationMappings = implementationMappings.getText();
+        settings.outputMode = (OutputMode) outputMode.getSelectedItem();
+        settings.indentWidth = indent;
+        settings.recordSnapshots = recordSnapshots.isSelected();
+        settings.stubDirectory = stubDirectory.getText().trim();
+    }
+
+    @Override
+    public void reset() {
+        MyPojoToJsonSettings settings = MyPojoToJsonSettings.getInstance();
+        typeDefaultRules.setText(settings.typeDefaultRules);
+        sampleTime.setText(settings.sampleTime);
+        sampleSeed.setText(String.valueOf(settings.sampleSeed));
+        realisticValues.setSelected(settings.realisticValues);
+        collectionSize.setText(String.valueOf(settings.collectionSize));
+        varyElements.setSelected(settings.varyElements);
+        libraryJavadoc.setSelected(settings.libraryJavadoc);
+        resolveImplementations.setSelected(settings.resolveImplementations);
+        implementationMappings.setText(settings.implementationMappings);
+        outputMode.setSelectedItem(settings.outputMode);
+        indentWidth.setText(String.valueOf(settings.indentWidth));
+        recordSnapshots.setSelected(settings.recordSnapshots);
+        stubDirectory.setText(settings.stubDirectory);
+    }
+
+    @Override
+    public void disposeUIResources() {
+        typeDefaultRules = null;
+        sampleTime = null;
+        sampleSeed = null;
+        realisticValues = null;
+        collectionSize = null;
+        varyElements = null;
+        libraryJavadoc = null;
+        resolveImplementations = null;
+        implementationMappings = null;
+        outputMode = null;
+        indentWidth = null;
+        recordSnapshots = null;
+        stubDirectory = null;
+    }
+
+}
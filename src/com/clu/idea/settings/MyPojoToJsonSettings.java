@@ -0,0 +1,149 @@
+package com.clu.idea.settings;
+
+import com.clu.idea.utils.ConversionOptions;
+import com.clu.idea.utils.ImplementationResolver;
+import com.clu.idea.utils.OutputMode;
+import com.clu.idea.utils.TypeDefaultRules;
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.util.xmlb.XmlSerializerUtil;
+import com.intellij.util.xmlb.annotations.Transient;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+@State(name = "MyPojoToJsonSettings", storages = @Storage("myPojoToJson.xml"))
+public class MyPojoToJsonSettings implements PersistentStateComponent<MyPojoToJsonSettings> {
+
+    /**
+     * 类型默认值规则，格式见 {@link TypeDefaultRules}
+     */
+    public String typeDefaultRules = "";
+
+    /**
+     * 示例值使用的固定时间（yyyy-MM-dd HH:mm:ss），为空时使用转换开始的时间
+     */
+    public String sampleTime = "";
+
+    public long sampleSeed = 0;
+
+    /**
+     * 按字段名生成不同的数字/字符串/时间
+     */
+    public boolean realisticValues = false;
+
+    /**
+     * 数组/集合/Map输出的元素个数
+     */
+    public int collectionSize = 1;
+
+    /**
+     * collectionSize大于1时，元素中的默认值按元素序号变化
+     */
+    public boolean varyElements = false;
+
+    /**
+     * 类库中的类是否查找源码获取字段的javadoc（需要解析源码，较慢）
+     */
+    public boolean libraryJavadoc = false;
+
+    /**
+     * 接口/抽象类转换为实现类
+     */
+    public boolean resolveImplementations = false;
+
+    /**
+     * 指定的实现类，格式见 {@link ImplementationResolver}
+     */
+    public String implementationMappings = "";
+
+    public OutputMode outputMode = OutputMode.PRETTY;
+
+    /**
+     * PRETTY的缩进空格数
+     */
+    public int indentWidth = 4;
+
+    /**
+     * 转换后记录结果的结构，用于检查改动影响的示例
+     */
+    public boolean recordSnapshots = false;
+
+    /**
+     * mock stub的输出目录，相对路径基于项目目录
+     */
+    public String stubDirectory = "src/test/resources/mappings";
+
+    @Transient
+    private String compiledText;
+
+    @Transient
+    private TypeDefaultRules compiledRules = TypeDefaultRules.EMPTY;
+
+    @Transient
+    private String compiledMappingsText;
+
+    @Transient
+    private ImplementationResolver compiledResolver = ImplementationResolver.EMPTY;
+
+    public static MyPojoToJsonSettings getInstance() {
+        return ServiceManager.getService(MyPojoToJsonSettings.class);
+    }
+
+    @Override
+    public MyPojoToJsonSettings getState() {
+        return this;
+    }
+
+    @Override
+    public void loadState(@NotNull MyPojoToJsonSettings state) {
+        XmlSerializerUtil.copyBean(state, this);
+    }
+
+    /**
+     * 规则文本未变化时复用编译结果
+     */
+    @Transient
+    @NotNull
+    public synchronized TypeDefaultRules getCompiledTypeDefaultRules() {
+        if (!Objects.equals(compiledText, typeDefaultRules)) {
+            compiledRules = TypeDefaultRules.compile(typeDefaultRules);
+            compiledText = typeDefaultRules;
+        }
+        return compiledRules;
+    }
+
+    /**
+     * 指定实现类的文本未变化时复用编译结果
+     */
+    @Transient
+    @NotNull
+    public synchronized ImplementationResolver getCompiledImplementationResolver() {
+        if (!Objects.equals(compiledMappingsText, implementationMappings)) {
+            compiledResolver = ImplementationResolver.compile(implementationMappings);
+            compiledMappingsText = implementationMappings;
+        }
+        return compiledResolver;
+    }
+
+    /**
+     * 按当前设置创建转换选项
+     */
+    @NotNull
+    public ConversionOptions toConversionOptions() {
+        return new ConversionOptions()
+            .setTypeDefaultRules(getCompiledTypeDefaultRules())
+            .setSampleTime(sampleTime)
+            .setSampleSeed(sampleSeed)
+            .setRealisticValues(realisticValues)
+            .setVaryElements(varyElements)
+            .setCollectionSize(collectionSize)
+            .setLibraryJavadoc(libraryJavadoc)
+            .setImplementationResolver(resolveImplementations ? getCompiledImplementationResolver() : null)
+            .setOutputMode(outputMode)
+            .setIndentWidth(indentWidth);
+    }
+
+}
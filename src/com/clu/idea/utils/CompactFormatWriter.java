@@ -0,0 +1,54 @@
+package com.clu.idea.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * 在不含空白的json中，字符串以外的逗号和冒号后追加一个空格
+ */
+class CompactFormatWriter extends Writer {
+
+    private final Writer out;
+
+    private boolean inString;
+
+    private boolean escaped;
+
+    CompactFormatWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(@NotNull char[] cbuf, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            char c = cbuf[i];
+            out.write(c);
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == ',' || c == ':') {
+                out.write(' ');
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+}
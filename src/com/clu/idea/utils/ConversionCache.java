@@ -0,0 +1,34 @@
+package com.clu.idea.utils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 转换结果缓存，实现必须线程安全。key包含类型和影响结果的选项，失效由实现自己负责
+ */
+public interface ConversionCache {
+
+    /**
+     * 不缓存
+     */
+    ConversionCache DISABLED = new ConversionCache() {
+        @Nullable
+        @Override
+        public ConversionResult get(@NotNull String key) {
+            return null;
+        }
+
+        @Override
+        public void put(@NotNull String key, @NotNull ConversionResult result) {
+        }
+    };
+
+    @Nullable
+    ConversionResult get(@NotNull String key);
+
+    /**
+     * 只会放入完整的转换结果
+     */
+    void put(@NotNull String key, @NotNull ConversionResult result);
+
+}
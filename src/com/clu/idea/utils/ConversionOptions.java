@@ -0,0 +1,207 @@
+package com.clu.idea.utils;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 一次转换的选项，见 {@link MyPojoToJsonService}。传给服务后不应再修改（服务会复制一份）
+ */
+public class ConversionOptions {
+
+    private TypeDefaultRules typeDefaultRules = TypeDefaultRules.EMPTY;
+
+    private String sampleTime;
+
+    private long sampleSeed;
+
+    private boolean realisticValues;
+
+    private boolean varyElements;
+
+    private int collectionSize = 1;
+
+    private boolean libraryJavadoc;
+
+    /**
+     * 为null时接口输出"{}"，抽象类只输出自身的字段
+     */
+    private ImplementationResolver implementationResolver;
+
+    private OutputMode outputMode = OutputMode.PRETTY;
+
+    /**
+     * 是否输出字段javadoc注释，只对PRETTY有效
+     */
+    private boolean javadoc = true;
+
+    private int indentWidth = 4;
+
+    /**
+     * 为null时使用服务的共享缓存
+     */
+    private ConversionCache cache;
+
+    public ConversionOptions copy() {
+        return new ConversionOptions()
+            .setTypeDefaultRules(typeDefaultRules)
+            .setSampleTime(sampleTime)
+            .setSampleSeed(sampleSeed)
+            .setRealisticValues(realisticValues)
+            .setVaryElements(varyElements)
+            .setCollectionSize(collectionSize)
+            .setLibraryJavadoc(libraryJavadoc)
+            .setImplementationResolver(implementationResolver)
+            .setOutputMode(outputMode)
+            .setJavadoc(javadoc)
+            .setIndentWidth(indentWidth)
+            .setCache(cache);
+    }
+
+    /**
+     * 影响转换结果的选项，输出格式只影响是否收集javadoc
+     */
+    @NotNull
+    String cacheKey() {
+        return typeDefaultRules.getSource() + '\u0000' + sampleTime + '\u0000' + sampleSeed + '\u0000' + realisticValues
+            + '\u0000' + varyElements + '\u0000' + collectionSize + '\u0000' + libraryJavadoc
+            + '\u0000' + (implementationResolver == null ? "\u0001" : implementationResolver.getSource())
+            + '\u0000' + isCollectJavadoc();
+    }
+
+    /**
+     * 只有PRETTY输出注释，其他格式不收集javadoc，避免解析类库源码
+     */
+    boolean isCollectJavadoc() {
+        return javadoc && outputMode == OutputMode.PRETTY;
+    }
+
+    @NotNull
+    ProcessingInfo newProcessingInfo(@NotNull Project project, @NotNull ProgressIndicator indicator) {
+        return new ProcessingInfo().setProject(project).setProgressIndicator(indicator)
+            .setTypeDefaultRules(typeDefaultRules)
+            .setSampleValueGenerator(SampleValueGenerator.create(sampleTime, sampleSeed, realisticValues).setVaryElements(varyElements && collectionSize > 1))
+            .setCollectionSize(collectionSize)
+            .setLibraryJavadoc(libraryJavadoc)
+            .setImplementationResolver(implementationResolver)
+            .setJavadoc(isCollectJavadoc());
+    }
+
+    // getters and setters
+
+    public TypeDefaultRules getTypeDefaultRules() {
+        return typeDefaultRules;
+    }
+
+    public ConversionOptions setTypeDefaultRules(@NotNull TypeDefaultRules typeDefaultRules) {
+        this.typeDefaultRules = typeDefaultRules;
+        return this;
+    }
+
+    public String getSampleTime() {
+        return sampleTime;
+    }
+
+    /**
+     * @param sampleTime yyyy-MM-dd HH:mm:ss，为空时使用转换开始的时间
+     */
+    public ConversionOptions setSampleTime(@Nullable String sampleTime) {
+        this.sampleTime = sampleTime;
+        return this;
+    }
+
+    public long getSampleSeed() {
+        return sampleSeed;
+    }
+
+    public ConversionOptions setSampleSeed(long sampleSeed) {
+        this.sampleSeed = sampleSeed;
+        return this;
+    }
+
+    public boolean isRealisticValues() {
+        return realisticValues;
+    }
+
+    public ConversionOptions setRealisticValues(boolean realisticValues) {
+        this.realisticValues = realisticValues;
+        return this;
+    }
+
+    public boolean isVaryElements() {
+        return varyElements;
+    }
+
+    public ConversionOptions setVaryElements(boolean varyElements) {
+        this.varyElements = varyElements;
+        return this;
+    }
+
+    public int getCollectionSize() {
+        return collectionSize;
+    }
+
+    public ConversionOptions setCollectionSize(int collectionSize) {
+        this.collectionSize = Math.max(1, collectionSize);
+        return this;
+    }
+
+    public boolean isLibraryJavadoc() {
+        return libraryJavadoc;
+    }
+
+    public ConversionOptions setLibraryJavadoc(boolean libraryJavadoc) {
+        this.libraryJavadoc = libraryJavadoc;
+        return this;
+    }
+
+    public ImplementationResolver getImplementationResolver() {
+        return implementationResolver;
+    }
+
+    /**
+     * @param implementationResolver 为null时不解析实现类
+     */
+    public ConversionOptions setImplementationResolver(@Nullable ImplementationResolver implementationResolver) {
+        this.implementationResolver = implementationResolver;
+        return this;
+    }
+
+    public OutputMode getOutputMode() {
+        return outputMode;
+    }
+
+    public ConversionOptions setOutputMode(@NotNull OutputMode outputMode) {
+        this.outputMode = outputMode;
+        return this;
+    }
+
+    public boolean isJavadoc() {
+        return javadoc;
+    }
+
+    public ConversionOptions setJavadoc(boolean javadoc) {
+        this.javadoc = javadoc;
+        return this;
+    }
+
+    public int getIndentWidth() {
+        return indentWidth;
+    }
+
+    public ConversionOptions setIndentWidth(int indentWidth) {
+        this.indentWidth = Math.max(1, indentWidth);
+        return this;
+    }
+
+    public ConversionCache getCache() {
+        return cache;
+    }
+
+    public ConversionOptions setCache(@Nullable ConversionCache cache) {
+        this.cache = cache;
+        return this;
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.clu.idea.utils;
+
+import com.clu.idea.utils.node.PojoNode;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 转换结果，结果节点已冻结（见 {@link PojoNode#freeze()}），可以在缓存中共享
+ */
+public class ConversionResult {
+
+    private final PojoNode node;
+
+    private final Set<String> dependencies;
+
+    private final boolean complete;
+
+    ConversionResult(@NotNull PojoNode node, @NotNull Set<String> dependencies, boolean complete) {
+        this.node = node.freeze();
+        this.dependencies = Collections.unmodifiableSet(new HashSet<>(dependencies));
+        this.complete = complete;
+    }
+
+    @NotNull
+    public PojoNode getNode() {
+        return node;
+    }
+
+    /**
+     * 转换时访问过的类型的全限定名
+     */
+    @NotNull
+    public Set<String> getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * 为false时是取消转换时的部分结果
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+}
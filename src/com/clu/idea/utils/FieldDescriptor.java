@@ -0,0 +1,175 @@
+package com.clu.idea.utils;
+
+import com.intellij.psi.*;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 字段的json名称、是否忽略、格式，每个类只解析一次注解，结果缓存在PsiClass上
+ * <p>
+ * 支持 jackson(@JsonProperty, @JsonIgnore, @JsonIgnoreProperties, @JsonFormat), gson(@SerializedName), fastjson(@JSONField)
+ */
+public final class FieldDescriptor {
+
+    private static final FieldDescriptor[] EMPTY = new FieldDescriptor[0];
+
+    private final PsiField field;
+
+    private final String jsonName;
+
+    private final boolean ignored;
+
+    private final String format;
+
+    private FieldDescriptor(PsiField field, String jsonName, boolean ignored, String format) {
+        this.field = field;
+        this.jsonName = jsonName;
+        this.ignored = ignored;
+        this.format = format;
+    }
+
+    @NotNull
+    public PsiField getField() {
+        return field;
+    }
+
+    @NotNull
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    /**
+     * @param ignoredProperties 类上 @JsonIgnoreProperties 指定的属性，见 {@link #getIgnoredProperties(PsiClass)}
+     */
+    public boolean isIgnored(@NotNull Set<String> ignoredProperties) {
+        return ignored || ignoredProperties.contains(jsonName) || ignoredProperties.contains(field.getName());
+    }
+
+    /**
+     * 日期格式，如 @JsonFormat(pattern) 或 @JSONField(format)
+     */
+    @Nullable
+    public String getFormat() {
+        return format;
+    }
+
+    /**
+     * 按声明顺序返回本类（不含父类）的字段，不含类上 @JsonIgnoreProperties 的处理
+     */
+    @NotNull
+    public static FieldDescriptor[] of(@NotNull PsiClass psiClass) {
+        return CachedValuesManager.getCachedValue(psiClass, () -> CachedValueProvider.Result.create(build(psiClass), PsiModificationTracker.MODIFICATION_COUNT));
+    }
+
+    /**
+     * 本类及所有父类上 @JsonIgnoreProperties 指定的属性，与jackson一致，对继承的字段同样生效
+     */
+    @NotNull
+    public static Set<String> getIgnoredProperties(@NotNull PsiClass psiClass) {
+        return CachedValuesManager.getCachedValue(psiClass, () -> CachedValueProvider.Result.create(buildIgnoredProperties(psiClass), PsiModificationTracker.MODIFICATION_COUNT));
+    }
+
+    private static Set<String> buildIgnoredProperties(PsiClass psiClass) {
+        PsiConstantEvaluationHelper evaluationHelper = JavaPsiFacade.getInstance(psiClass.getProject()).getConstantEvaluationHelper();
+        Set<String> ignoredNames = new HashSet<>();
+        Set<PsiClass> visited = new HashSet<>();
+        for (PsiClass current = psiClass; current != null && visited.add(current); current = current.getSuperClass()) {
+            PsiModifierList classModifierList = current.getModifierList();
+            if (classModifierList == null) {
+                continue;
+            }
+            for (PsiAnnotation annotation : classModifierList.getAnnotations()) {
+                if (is(annotation, "JsonIgnoreProperties", "com.fasterxml.jackson.annotation.JsonIgnoreProperties")) {
+                    collectStrings(annotation.findDeclaredAttributeValue("value"), evaluationHelper, ignoredNames);
+                }
+            }
+        }
+        return ignoredNames.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(ignoredNames);
+    }
+
+    private static FieldDescriptor[] build(PsiClass psiClass) {
+        PsiField[] fields = psiClass.getFields();
+        if (fields.length == 0) {
+            return EMPTY;
+        }
+        PsiConstantEvaluationHelper evaluationHelper = JavaPsiFacade.getInstance(psiClass.getProject()).getConstantEvaluationHelper();
+
+        FieldDescriptor[] descriptors = new FieldDescriptor[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            PsiField field = fields[i];
+            String jsonName = field.getName();
+            boolean ignored = false;
+            String format = null;
+
+            PsiModifierList modifierList = field.getModifierList();
+            if (modifierList != null) {
+                if (modifierList.hasExplicitModifier(PsiModifier.STATIC) || modifierList.hasExplicitModifier(PsiModifier.TRANSIENT)) {
+                    ignored = true;
+                }
+                for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+                    if (is(annotation, "JsonProperty", "com.fasterxml.jackson.annotation.JsonProperty")
+                        || is(annotation, "SerializedName", "com.google.gson.annotations.SerializedName")) {
+                        jsonName = defaultIfEmpty(getString(annotation, "value", evaluationHelper), jsonName);
+                    } else if (is(annotation, "JsonIgnore", "com.fasterxml.jackson.annotation.JsonIgnore")) {
+                        ignored |= !Boolean.FALSE.equals(getConstant(annotation, "value", evaluationHelper));
+                    } else if (is(annotation, "JsonFormat", "com.fasterxml.jackson.annotation.JsonFormat")) {
+                        format = defaultIfEmpty(getString(annotation, "pattern", evaluationHelper), format);
+                    } else if (is(annotation, "JSONField", "com.alibaba.fastjson.annotation.JSONField")
+                        || is(annotation, "JSONField", "com.alibaba.fastjson2.annotation.JSONField")) {
+                        jsonName = defaultIfEmpty(getString(annotation, "name", evaluationHelper), jsonName);
+                        format = defaultIfEmpty(getString(annotation, "format", evaluationHelper), format);
+                        ignored |= Boolean.FALSE.equals(getConstant(annotation, "serialize", evaluationHelper));
+                    }
+                }
+            }
+            descriptors[i] = new FieldDescriptor(field, jsonName, ignored, format);
+        }
+        return descriptors;
+    }
+
+    /**
+     * 先比较简单名（不需要resolve），再比较全限定名
+     */
+    private static boolean is(PsiAnnotation annotation, String shortName, String qualifiedName) {
+        PsiJavaCodeReferenceElement referenceElement = annotation.getNameReferenceElement();
+        if (referenceElement == null || !shortName.equals(referenceElement.getReferenceName())) {
+            return false;
+        }
+        return qualifiedName.equals(annotation.getQualifiedName());
+    }
+
+    private static Object getConstant(PsiAnnotation annotation, String attributeName, PsiConstantEvaluationHelper evaluationHelper) {
+        PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue(attributeName);
+        return value == null ? null : evaluationHelper.computeConstantExpression(value);
+    }
+
+    private static String getString(PsiAnnotation annotation, String attributeName, PsiConstantEvaluationHelper evaluationHelper) {
+        Object value = getConstant(annotation, attributeName, evaluationHelper);
+        return value instanceof String ? (String) value : null;
+    }
+
+    private static void collectStrings(PsiAnnotationMemberValue value, PsiConstantEvaluationHelper evaluationHelper, Set<String> result) {
+        if (value instanceof PsiArrayInitializerMemberValue) {
+            for (PsiAnnotationMemberValue initializer : ((PsiArrayInitializerMemberValue) value).getInitializers()) {
+                collectStrings(initializer, evaluationHelper, result);
+            }
+        } else if (value != null) {
+            Object constant = evaluationHelper.computeConstantExpression(value);
+            if (constant instanceof String) {
+                result.add((String) constant);
+            }
+        }
+    }
+
+    private static String defaultIfEmpty(String value, String defaultValue) {
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+}
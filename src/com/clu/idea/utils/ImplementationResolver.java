@@ -0,0 +1,138 @@
+package com.clu.idea.utils;
+
+import com.clu.idea.MyPluginException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootModificationTracker;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.searches.ClassInheritorsSearch;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiUtil;
+import com.intellij.psi.util.TypeConversionUtil;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 把接口/抽象类替换为实现类。指定的实现类优先，每行一条：
+ * <pre>
+ * # 注释
+ * com.acme.Shape -> com.acme.Circle
+ * </pre>
+ * 未指定时，项目中（不含类库）只有一个非抽象实现类则使用它
+ */
+public final class ImplementationResolver {
+
+    public static final ImplementationResolver EMPTY = new ImplementationResolver();
+
+    private final Map<String, String> chosen = new HashMap<>();
+
+    private String source = "";
+
+    private ImplementationResolver() {
+    }
+
+    /**
+     * 编译指定实现类的文本
+     * @throws MyPluginException 格式错误
+     */
+    @NotNull
+    public static ImplementationResolver compile(@Nullable String text) {
+        ImplementationResolver resolver = new ImplementationResolver();
+        if (StringUtils.isBlank(text)) {
+            return resolver;
+        }
+        resolver.source = text;
+        String[] lines = text.split("\\r?\\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String base = StringUtils.substringBefore(line, "->").trim();
+            String implementation = StringUtils.substringAfter(line, "->").trim();
+            if (base.isEmpty() || implementation.isEmpty() || base.contains(" ") || implementation.contains(" ")) {
+                throw new MyPluginException("Invalid implementation mapping at line " + (i + 1) + ": " + line + ", expected <base> -> <implementation>");
+            }
+            // 先出现的优先
+            resolver.chosen.putIfAbsent(base, implementation);
+        }
+        return resolver;
+    }
+
+    /**
+     * 编译前的文本
+     */
+    @NotNull
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return 实现类的类型（泛型参数按父类型映射），无法确定唯一实现类时返回null
+     */
+    @Nullable
+    PsiType resolve(@NotNull PsiClassType psiType, @NotNull PsiClass psiClass) {
+        PsiClass implementation = findImplementation(psiClass);
+        if (implementation == null) {
+            return null;
+        }
+
+        // Shape<String> -> Circle<T> implements Shape<T> 时，T = String
+        PsiSubstitutor baseSubstitutor = psiType.resolveGenerics().getSubstitutor();
+        PsiSubstitutor superSubstitutor = TypeConversionUtil.getSuperClassSubstitutor(psiClass, implementation, PsiSubstitutor.EMPTY);
+        PsiSubstitutor substitutor = PsiSubstitutor.EMPTY;
+        for (PsiTypeParameter typeParameter : psiClass.getTypeParameters()) {
+            PsiClass mapped = PsiUtil.resolveClassInClassTypeOnly(superSubstitutor.substitute(typeParameter));
+            if (mapped instanceof PsiTypeParameter && implementation.equals(((PsiTypeParameter) mapped).getOwner())) {
+                substitutor = substitutor.put((PsiTypeParameter) mapped, baseSubstitutor.substitute(typeParameter));
+            }
+        }
+        return JavaPsiFacade.getElementFactory(psiClass.getProject()).createType(implementation, substitutor);
+    }
+
+    @Nullable
+    private PsiClass findImplementation(PsiClass psiClass) {
+        String qualifiedName = psiClass.getQualifiedName();
+        if (qualifiedName == null) {
+            return null;
+        }
+        Project project = psiClass.getProject();
+        String chosenName = chosen.get(qualifiedName);
+        if (chosenName != null) {
+            PsiClass implementation = JavaPsiFacade.getInstance(project).findClass(chosenName, GlobalSearchScope.allScope(project));
+            if (implementation != null && implementation.isInheritor(psiClass, true)) {
+                return implementation;
+            }
+            return null;
+        }
+        PsiClass[] implementations = findConcreteInheritors(psiClass);
+        return implementations.length == 1 ? implementations[0] : null;
+    }
+
+    /**
+     * 项目中的非抽象实现类，找到第二个即停止；结果缓存在父类型上，类结构或项目依赖变化时失效
+     */
+    private static PsiClass[] findConcreteInheritors(PsiClass psiClass) {
+        return CachedValuesManager.getCachedValue(psiClass, () -> {
+            Project project = psiClass.getProject();
+            List<PsiClass> implementations = new ArrayList<>(2);
+            ClassInheritorsSearch.search(psiClass, GlobalSearchScope.projectScope(project), true, true, false).forEach(inheritor -> {
+                if (!inheritor.isInterface() && !inheritor.hasModifierProperty(PsiModifier.ABSTRACT) && inheritor.getQualifiedName() != null) {
+                    implementations.add(inheritor);
+                }
+                return implementations.size() < 2;
+            });
+            PsiClass[] result = implementations.toArray(PsiClass.EMPTY_ARRAY);
+            return CachedValueProvider.Result.create(result, PsiModificationTracker.JAVA_STRUCTURE_MODIFICATION_COUNT, ProjectRootModificationTracker.getInstance(project));
+        });
+    }
+
+}
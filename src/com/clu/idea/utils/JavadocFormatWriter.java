@@ -0,0 +1,126 @@
+package com.clu.idea.utils;
+
+import com.clu.idea.MyPluginException;
+import com.clu.idea.utils.node.ObjectNode;
+import com.google.common.io.LineReader;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 逐行处理后写入目标：javadoc伪属性转换为下一行末尾的注释。只缓存当前行
+ */
+class JavadocFormatWriter extends Writer {
+
+    private static final Gson GSON = new Gson();
+
+    private final Writer out;
+
+    private final StringBuilder line = new StringBuilder();
+
+    private String javadoc;
+
+    private boolean firstLine = true;
+
+    private boolean finished;
+
+    JavadocFormatWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(@NotNull char[] cbuf, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            char c = cbuf[i];
+            if (c == '\n') {
+                processLine();
+            } else if (c != '\r') {
+                line.append(c);
+            }
+        }
+    }
+
+    private void processLine() throws IOException {
+        String text = line.toString();
+        line.setLength(0);
+
+        String trimLine = text.trim();
+        if (trimLine.startsWith("\"" + ObjectNode.JAVA_DOC_KEY)) {
+            if (trimLine.endsWith(",")) {
+                trimLine = trimLine.substring(0, trimLine.length() - 1);
+            }
+            Map<String, String> javadocMap = GSON.fromJson("{" + trimLine + "}", new TypeToken<Map<String, String>>() {
+            }.getType());
+            String _javadoc;
+            Iterator<String> iterator;
+            if ((iterator = javadocMap.values().iterator()).hasNext() && (_javadoc = iterator.next()) != null) {
+                // javadoc居然是最后一行时会被丢弃
+                javadoc = formatJavadoc(_javadoc);
+            }
+            return;
+        }
+
+        // 换行符
+        if (!firstLine) {
+            out.write(System.lineSeparator());
+        }
+        firstLine = false;
+
+        out.write(text);
+
+        if (javadoc != null) {
+            out.write("  // ");
+            out.write(javadoc);
+            javadoc = null;
+        }
+    }
+
+    @NotNull
+    private static String formatJavadoc(@NotNull String javadoc) {
+        javadoc = javadoc.substring("/**".length());
+        javadoc = javadoc.substring(0, javadoc.length() - "*/".length());
+        LineReader lineReader = new LineReader(new StringReader(javadoc));
+        StringBuilder builder = new StringBuilder();
+        String line;
+        try {
+            while ((line = lineReader.readLine()) != null) {
+                line = line.trim();
+                if (line.startsWith("*")) {
+                    line = line.substring(1).trim();
+                }
+                builder.append(line);
+            }
+        } catch (IOException e) {
+            throw new MyPluginException("get javadoc fail", e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 输出最后一行，不关闭目标
+     */
+    void finish() throws IOException {
+        if (!finished) {
+            finished = true;
+            processLine();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+        out.close();
+    }
+
+}
@@ -0,0 +1,370 @@
+package com.clu.idea.utils;
+
+import com.clu.idea.utils.node.*;
+import com.intellij.codeInsight.AnnotationUtil;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.util.Pair;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.searches.AnnotatedElementsSearch;
+import com.intellij.psi.util.MethodSignatureUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * 扫描项目中的Spring controller，把请求体和返回值的转换结果写成WireMock格式的stub mapping文件（每个接口一个文件）。
+ * 同一个类型只会通过 {@link MyPojoToJsonService} 的共享缓存转换一次
+ */
+public class MockStubGenerator {
+
+    private static final String[] CONTROLLER_ANNOTATIONS = {
+        "org.springframework.web.bind.annotation.RestController",
+        "org.springframework.stereotype.Controller"
+    };
+
+    private static final String REQUEST_MAPPING = "org.springframework.web.bind.annotation.RequestMapping";
+
+    private static final String REQUEST_BODY = "org.springframework.web.bind.annotation.RequestBody";
+
+    private static final Map<String, String> METHOD_MAPPINGS = new HashMap<>();
+
+    /**
+     * 返回值的包装类型，取第一个泛型参数
+     */
+    private static final Set<String> RESPONSE_WRAPPERS = new HashSet<>(Arrays.asList(
+        "org.springframework.http.ResponseEntity",
+        "org.springframework.http.HttpEntity",
+        "org.springframework.web.context.request.async.DeferredResult",
+        "org.springframework.web.context.request.async.WebAsyncTask",
+        "reactor.core.publisher.Mono",
+        "java.util.concurrent.Callable",
+        "java.util.concurrent.CompletableFuture",
+        "java.util.concurrent.CompletionStage",
+        "java.util.Optional"
+    ));
+
+    private static final String FLUX = "reactor.core.publisher.Flux";
+
+    /**
+     * 写入metadata.generatedBy，用于识别可以删除的旧stub
+     */
+    private static final String GENERATOR_NAME = "MyPojoToJson";
+
+    private static final Pattern GENERATED_MARKER = Pattern.compile("\"generatedBy\"\\s*:\\s*\"" + GENERATOR_NAME + "\"");
+
+    static {
+        String prefix = "org.springframework.web.bind.annotation.";
+        METHOD_MAPPINGS.put(prefix + "GetMapping", "GET");
+        METHOD_MAPPINGS.put(prefix + "PostMapping", "POST");
+        METHOD_MAPPINGS.put(prefix + "PutMapping", "PUT");
+        METHOD_MAPPINGS.put(prefix + "DeleteMapping", "DELETE");
+        METHOD_MAPPINGS.put(prefix + "PatchMapping", "PATCH");
+        METHOD_MAPPINGS.put(REQUEST_MAPPING, "ANY");
+    }
+
+    private static class Endpoint {
+        String name;
+        String method;
+        String path;
+        PsiType requestBody;
+        PsiType responseBody;
+    }
+
+    private final Project project;
+
+    private final ConversionOptions options;
+
+    public MockStubGenerator(@NotNull Project project, @NotNull ConversionOptions options) {
+        this.project = project;
+        // stub必须是合法的json，不输出javadoc注释
+        this.options = options.copy().setJavadoc(false);
+    }
+
+    /**
+     * 先转换全部接口，全部成功后才写入文件，并删除本插件生成过、接口已不存在的stub
+     * @return 生成的文件个数
+     * @throws ProcessCanceledException 取消或只得到部分结果时抛出，目录保持不变
+     */
+    public int generate(@NotNull File directory, @NotNull ProgressIndicator indicator) throws IOException {
+        List<Endpoint> endpoints = ApplicationManager.getApplication().runReadAction((Computable<List<Endpoint>>) this::findEndpoints);
+
+        MyPojoToJsonService service = MyPojoToJsonService.getInstance(project);
+        // 文件名 -> mapping
+        Map<String, PojoNode> mappings = new LinkedHashMap<>();
+        for (int i = 0; i < endpoints.size(); i++) {
+            indicator.checkCanceled();
+            Endpoint endpoint = endpoints.get(i);
+            indicator.setFraction((double) i / endpoints.size());
+            indicator.setText("Generating stub: " + endpoint.name);
+
+            PojoNode requestBody = convert(service, endpoint.requestBody, indicator);
+            PojoNode responseBody = convert(service, endpoint.responseBody, indicator);
+
+            String baseName = endpoint.name.replaceAll("[^A-Za-z0-9_.-]", "_");
+            String fileName = baseName + ".json";
+            for (int n = 2; mappings.containsKey(fileName); n++) {
+                fileName = baseName + "-" + n + ".json";
+            }
+            mappings.put(fileName, toMapping(endpoint, requestBody, responseBody));
+        }
+        indicator.checkCanceled();
+
+        if (mappings.isEmpty() && !directory.isDirectory()) {
+            return 0;
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Can not create directory " + directory);
+        }
+        List<File> files = new ArrayList<>();
+        for (Map.Entry<String, PojoNode> entry : mappings.entrySet()) {
+            File file = new File(directory, entry.getKey());
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+                MyPojoToJsonCore.writeJson(entry.getValue(), writer, options.getOutputMode(), options.getIndentWidth());
+            }
+            files.add(file);
+        }
+        removeStaleStubs(directory, mappings.keySet(), files);
+        LocalFileSystem.getInstance().refreshIoFiles(files);
+        return mappings.size();
+    }
+
+    /**
+     * 删除目录中本插件生成的（metadata中有generatedBy标记）、本次没有生成的stub，手写的stub不受影响
+     */
+    private static void removeStaleStubs(File directory, Set<String> fileNames, List<File> changedFiles) throws IOException {
+        File[] candidates = directory.listFiles((dir, name) -> name.endsWith(".json") && !fileNames.contains(name));
+        if (candidates == null) {
+            return;
+        }
+        for (File file : candidates) {
+            String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            if (GENERATED_MARKER.matcher(content).find()) {
+                Files.delete(file.toPath());
+                changedFiles.add(file);
+            }
+        }
+    }
+
+    @Nullable
+    private PojoNode convert(MyPojoToJsonService service, PsiType psiType, ProgressIndicator indicator) {
+        if (psiType == null) {
+            return null;
+        }
+        ConversionResult result = service.convert(psiType, options, indicator);
+        if (result == null || !result.isComplete()) {
+            // 不写入部分结果
+            throw new ProcessCanceledException();
+        }
+        return result.getNode();
+    }
+
+    private static PojoNode toMapping(Endpoint endpoint, PojoNode requestBody, PojoNode responseBody) {
+        ObjectNode request = new ObjectNode().put("method", LeafNode.of(endpoint.method));
+        if (endpoint.path.contains("{")) {
+            request.put("urlPathPattern", LeafNode.of(toPathPattern(endpoint.path)));
+        } else {
+            request.put("urlPath", LeafNode.of(endpoint.path));
+        }
+
+        ObjectNode response = new ObjectNode().put("status", LeafNode.of(200));
+        if (responseBody instanceof ObjectNode || responseBody instanceof ArrayNode) {
+            response.put("headers", new ObjectNode().put("Content-Type", LeafNode.of("application/json")));
+            response.put("jsonBody", responseBody);
+        } else if (responseBody instanceof LeafNode && ((LeafNode) responseBody).getValue() != null) {
+            response.put("body", LeafNode.of(String.valueOf(((LeafNode) responseBody).getValue())));
+        }
+
+        ObjectNode mapping = new ObjectNode()
+            .put("name", LeafNode.of(endpoint.name))
+            .put("request", request)
+            .put("response", response);
+        ObjectNode metadata = new ObjectNode().put("generatedBy", LeafNode.of(GENERATOR_NAME));
+        if (requestBody != null) {
+            // 只作为示例，不参与匹配
+            metadata.put("requestBodySample", requestBody);
+        }
+        mapping.put("metadata", metadata);
+        return mapping;
+    }
+
+    private List<Endpoint> findEndpoints() {
+        JavaPsiFacade facade = JavaPsiFacade.getInstance(project);
+        GlobalSearchScope allScope = GlobalSearchScope.allScope(project);
+        GlobalSearchScope projectScope = GlobalSearchScope.projectScope(project);
+
+        Set<PsiClass> controllers = new LinkedHashSet<>();
+        for (String annotationName : CONTROLLER_ANNOTATIONS) {
+            PsiClass annotationClass = facade.findClass(annotationName, allScope);
+            if (annotationClass != null) {
+                controllers.addAll(AnnotatedElementsSearch.searchPsiClasses(annotationClass, projectScope).findAll());
+            }
+        }
+
+        List<Endpoint> endpoints = new ArrayList<>();
+        for (PsiClass controller : controllers) {
+            if (controller.isInterface() || controller.isAnnotationType() || controller.hasModifierProperty(PsiModifier.ABSTRACT)) {
+                continue;
+            }
+            // 与Spring一致，映射注解可以声明在父类或接口上（如openapi-generator生成的接口）
+            PsiAnnotation classMapping = AnnotationUtil.findAnnotationInHierarchy(controller, Collections.singleton(REQUEST_MAPPING));
+            String basePath = classMapping == null ? "" : getPath(classMapping);
+            for (Pair<PsiMethod, PsiSubstitutor> pair : controller.getAllMethodsAndTheirSubstitutors()) {
+                PsiMethod method = pair.getFirst();
+                PsiSubstitutor substitutor = pair.getSecond();
+                if (method.isConstructor() || method.hasModifierProperty(PsiModifier.STATIC) || method.hasModifierProperty(PsiModifier.ABSTRACT)) {
+                    continue;
+                }
+                // 被覆盖的父类方法由覆盖它的方法处理
+                if (MethodSignatureUtil.findMethodBySuperMethod(controller, method, true) != method) {
+                    continue;
+                }
+                PsiAnnotation annotation = AnnotationUtil.findAnnotationInHierarchy(method, METHOD_MAPPINGS.keySet());
+                if (annotation == null) {
+                    continue;
+                }
+                String httpMethod = METHOD_MAPPINGS.get(annotation.getQualifiedName());
+                if (REQUEST_MAPPING.equals(annotation.getQualifiedName())) {
+                    httpMethod = getRequestMethod(annotation, httpMethod);
+                }
+                Endpoint endpoint = new Endpoint();
+                endpoint.name = controller.getName() + "-" + method.getName();
+                endpoint.method = httpMethod;
+                endpoint.path = joinPath(basePath, getPath(annotation));
+                endpoint.requestBody = getRequestBodyType(method, substitutor);
+                endpoint.responseBody = unwrapResponseType(substitutor.substitute(method.getReturnType()), controller);
+                endpoints.add(endpoint);
+            }
+        }
+        return endpoints;
+    }
+
+    /**
+     * 参数上的 @RequestBody 可以声明在被覆盖的方法上
+     */
+    @Nullable
+    private static PsiType getRequestBodyType(PsiMethod method, PsiSubstitutor substitutor) {
+        PsiParameter[] parameters = method.getParameterList().getParameters();
+        Set<PsiMethod> visited = new HashSet<>();
+        Deque<PsiMethod> queue = new ArrayDeque<>();
+        queue.add(method);
+        while (!queue.isEmpty()) {
+            PsiMethod current = queue.poll();
+            if (!visited.add(current)) {
+                continue;
+            }
+            PsiParameter[] currentParameters = current.getParameterList().getParameters();
+            for (int i = 0; i < currentParameters.length && i < parameters.length; i++) {
+                PsiModifierList modifierList = currentParameters[i].getModifierList();
+                if (modifierList != null && modifierList.findAnnotation(REQUEST_BODY) != null) {
+                    return substitutor.substitute(parameters[i].getType());
+                }
+            }
+            Collections.addAll(queue, current.findSuperMethods());
+        }
+        return null;
+    }
+
+    @Nullable
+    private PsiType unwrapResponseType(@Nullable PsiType psiType, PsiElement context) {
+        while (psiType instanceof PsiClassType) {
+            PsiClassType classType = (PsiClassType) psiType;
+            PsiClass psiClass = classType.resolve();
+            String qualifiedName = psiClass == null ? null : psiClass.getQualifiedName();
+            PsiType[] parameters = classType.getParameters();
+            if (FLUX.equals(qualifiedName) && parameters.length == 1) {
+                return JavaPsiFacade.getElementFactory(project).createTypeFromText(CommonClassNames.JAVA_UTIL_LIST + "<" + parameters[0].getCanonicalText() + ">", context);
+            }
+            if (!RESPONSE_WRAPPERS.contains(qualifiedName)) {
+                break;
+            }
+            if (parameters.length != 1 || parameters[0] instanceof PsiWildcardType) {
+                return null;
+            }
+            psiType = parameters[0];
+        }
+        if (psiType == null || PsiType.VOID.equals(psiType) || psiType.equalsToText(CommonClassNames.JAVA_LANG_VOID)) {
+            return null;
+        }
+        return psiType;
+    }
+
+    /**
+     * value或path的第一个值
+     */
+    private static String getPath(PsiAnnotation annotation) {
+        for (String attribute : new String[]{"value", "path"}) {
+            PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue(attribute);
+            if (value instanceof PsiArrayInitializerMemberValue) {
+                PsiAnnotationMemberValue[] initializers = ((PsiArrayInitializerMemberValue) value).getInitializers();
+                value = initializers.length == 0 ? null : initializers[0];
+            }
+            if (value != null) {
+                Object constant = JavaPsiFacade.getInstance(annotation.getProject()).getConstantEvaluationHelper().computeConstantExpression(value);
+                if (constant instanceof String) {
+                    return (String) constant;
+                }
+            }
+        }
+        return "";
+    }
+
+    /**
+     * RequestMapping(method = RequestMethod.X) 的第一个值
+     */
+    private static String getRequestMethod(PsiAnnotation annotation, String defaultMethod) {
+        PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue("method");
+        if (value instanceof PsiArrayInitializerMemberValue) {
+            PsiAnnotationMemberValue[] initializers = ((PsiArrayInitializerMemberValue) value).getInitializers();
+            value = initializers.length == 0 ? null : initializers[0];
+        }
+        if (value == null) {
+            return defaultMethod;
+        }
+        String text = value.getText();
+        return text.substring(text.lastIndexOf('.') + 1);
+    }
+
+    private static String joinPath(String basePath, String path) {
+        String joined = "/" + basePath + "/" + path;
+        joined = joined.replaceAll("/{2,}", "/");
+        if (joined.length() > 1 && joined.endsWith("/")) {
+            joined = joined.substring(0, joined.length() - 1);
+        }
+        return joined;
+    }
+
+    /**
+     * /users/{id} -> /users/[^/]+，其余部分按字面量转义
+     */
+    private static String toPathPattern(String path) {
+        StringBuilder builder = new StringBuilder();
+        int depth = 0;
+        for (char c : path.toCharArray()) {
+            if (c == '{') {
+                if (depth++ == 0) {
+                    builder.append("[^/]+");
+                }
+            } else if (c == '}') {
+                depth = Math.max(0, depth - 1);
+            } else if (depth == 0) {
+                if ("\\.[]()*+?^$|".indexOf(c) >= 0) {
+                    builder.append('\\');
+                }
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+}
@@ -1,6 +1,8 @@
 package com.clu.idea.utils;
 
 import com.clu.idea.MyPluginException;
+import com.clu.idea.settings.MyPojoToJsonSettings;
+import com.clu.idea.utils.node.PojoNode;
 import com.intellij.notification.Notification;
 import com.intellij.notification.NotificationDisplayType;
 import com.intellij.notification.NotificationGroup;
@@ -9,7 +11,6 @@ import com.intellij.notification.Notifications.Bus;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.DataContext;
-import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
@@ -18,18 +19,30 @@ import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiClassType;
 import com.intellij.psi.PsiType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.awt.*;
 import java.awt.datatransfer.Clipboard;
 import java.awt.datatransfer.StringSelection;
 import java.io.IOException;
-
-import static com.clu.idea.utils.MyPojoToJsonCore.GSON;
+import java.io.StringWriter;
 
 public class MyPojoToJsonAction extends AnAction {
 
     // 要过期了，后续改为使用NotificationGroupManager.getInstance().getNotificationGroup("xxx")
-    private static final NotificationGroup notifyGroup = new NotificationGroup("myPojoToJson.NotificationGroup", NotificationDisplayType.BALLOON, true);
+    static final NotificationGroup notifyGroup = new NotificationGroup("myPojoToJson.NotificationGroup", NotificationDisplayType.BALLOON, true);
+
+    /**
+     * 转换结果的输出方式
+     */
+    @FunctionalInterface
+    protected interface Output {
+        /**
+         * 在后台线程中调用
+         * @return 成功提示
+         */
+        String write(@NotNull PojoNode result) throws IOException;
+    }
 
     @Override
     public void update(AnActionEvent e) {
@@ -53,6 +66,12 @@ public class MyPojoToJsonAction extends AnAction {
         }
 
         String className = MyPojoToJsonCore.getClassName(psiType);
+        String typeText = psiType.getCanonicalText();
+
+        Output output = createOutput(project, className);
+        if (output == null) {
+            return;
+        }
 
         ProgressManager.getInstance().run(new Task.Backgroundable(project, "Converting " + className + " to JSON...") {
             @Override
@@ -60,16 +79,11 @@ public class MyPojoToJsonAction extends AnAction {
                 // 10% done
                 indicator.setFraction(0.1);
                 indicator.setText("90% to finish");
-                ProcessingInfo processingInfo = new ProcessingInfo().setProject(project).setProgressIndicator(indicator);
+                MyPojoToJsonSettings settings = MyPojoToJsonSettings.getInstance();
+                ConversionResult conversionResult = null;
                 try {
-                    ApplicationManager.getApplication().runReadAction(new Runnable() {
-                        @Override
-                        public void run() {
-                            Object result = MyPojoToJsonCore.resolveType(psiType, processingInfo);
-                            // use return value instead of partial result
-                            processingInfo.setResult(result);
-                        }
-                    });
+                    // 取消时返回部分结果
+                    conversionResult = MyPojoToJsonService.getInstance(project).convert(psiType, settings.toConversionOptions(), indicator);
                 } catch (ProcessCanceledException e) {
                     // ignore
                 } finally {
@@ -79,22 +93,20 @@ public class MyPojoToJsonAction extends AnAction {
                     indicator.cancel();
                 }
 
-                Object result = processingInfo.getResult();
-                if (result == null) {
+                if (conversionResult == null) {
                     return;
                 }
 
-                String json = GSON.toJson(result);
+                if (conversionResult.isComplete() && settings.recordSnapshots) {
+                    MyPojoToJsonSnapshots.getInstance(project).record(typeText, conversionResult.getNode(), conversionResult.getDependencies());
+                }
+
+                String message;
                 try {
-                    json = MyPojoToJsonCore.myFormat(json);
+                    message = output.write(conversionResult.getNode());
                 } catch (IOException ex) {
                     throw new MyPluginException("Error", ex);
                 }
-                StringSelection selection = new StringSelection(json);
-                Clipboard clipboard = Toolkit.getDefaultToolkit().getSystemClipboard();
-                clipboard.setContents(selection, selection);
-
-                String message = "Convert " + className + " to JSON success, copied to clipboard.";
                 Notification success = notifyGroup.createNotification(message, NotificationType.INFORMATION);
                 Bus.notify(success, project);
             }
@@ -109,4 +121,22 @@ public class MyPojoToJsonAction extends AnAction {
 //        }
     }
 
+    /**
+     * 在EDT中调用，返回null时不转换
+     */
+    @Nullable
+    protected Output createOutput(@NotNull Project project, @NotNull String className) {
+        MyPojoToJsonSettings settings = MyPojoToJsonSettings.getInstance();
+        OutputMode outputMode = settings.outputMode;
+        int indentWidth = settings.indentWidth;
+        return result -> {
+            StringWriter writer = new StringWriter();
+            MyPojoToJsonCore.writeJson(result, writer, outputMode, indentWidth);
+            StringSelection selection = new StringSelection(writer.toString());
+            Clipboard clipboard = Toolkit.getDefaultToolkit().getSystemClipboard();
+            clipboard.setContents(selection, selection);
+            return "Convert " + className + " to JSON success, copied to clipboard.";
+        };
+    }
+
 }
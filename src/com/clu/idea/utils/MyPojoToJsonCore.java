@@ -1,38 +1,28 @@
 package com.clu.idea.utils;
 
-import com.clu.idea.MyPluginException;
-import com.google.common.io.LineReader;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
+import com.clu.idea.utils.node.*;
+import com.google.gson.stream.JsonWriter;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
 import com.intellij.openapi.actionSystem.DataContext;
 import com.intellij.openapi.editor.Editor;
-import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootModificationTracker;
 import com.intellij.psi.*;
 import com.intellij.psi.PsiClassType.ClassResolveResult;
 import com.intellij.psi.impl.compiled.ClsClassImpl;
 import com.intellij.psi.javadoc.PsiDocComment;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.util.PsiTypesUtil;
 import com.intellij.psi.util.PsiUtil;
 import com.intellij.util.Processor;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
-import java.io.StringReader;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
+import java.io.Writer;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.function.Supplier;
 
 import static com.clu.idea.utils.ProcessingInfo.CheckProcessingType.MAX_DEPTH;
@@ -40,58 +30,6 @@ import static com.clu.idea.utils.ProcessingInfo.CheckProcessingType.PROCESSING;
 
 public class MyPojoToJsonCore {
 
-    @NonNls
-    private static final ConcurrentMap<String, Object> normalTypeNameValues = new ConcurrentHashMap<>();
-
-    private static final String JAVA_DOC_KEY = "----JAVA_DOC----";
-
-    public static final Gson GSON = (new GsonBuilder()).serializeNulls().setPrettyPrinting().create();
-
-    private static final BigDecimal zero = BigDecimal.ZERO.setScale(2, RoundingMode.UNNECESSARY);
-
-    static {
-        Supplier<LocalDateTime> now = LocalDateTime::now;
-        Supplier<String> dateTime = () -> now.get().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-        normalTypeNameValues.put(CommonClassNames.JAVA_LANG_BOOLEAN, false);
-        normalTypeNameValues.put(CommonClassNames.JAVA_LANG_FLOAT, zero);
-        normalTypeNameValues.put(CommonClassNames.JAVA_LANG_DOUBLE, zero);
-        normalTypeNameValues.put("java.math.BigDecimal", zero);
-        normalTypeNameValues.put(CommonClassNames.JAVA_LANG_NUMBER, 0);
-        normalTypeNameValues.put("java.lang.CharSequence", "");
-        normalTypeNameValues.put(CommonClassNames.JAVA_UTIL_DATE, dateTime);
-        normalTypeNameValues.put("java.time.temporal.Temporal", (Supplier<Long>) () -> now.get().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
-        normalTypeNameValues.put("java.time.LocalDateTime", dateTime);
-        normalTypeNameValues.put("java.time.LocalDate", (Supplier<String>) () -> now.get().toLocalDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-        normalTypeNameValues.put("java.time.LocalTime", (Supplier<String>) () -> now.get().toLocalTime().format(DateTimeFormatter.ofPattern("HH:mm:ss")));
-        normalTypeNameValues.put(CommonClassNames.JAVA_IO_FILE, "{File}");
-        normalTypeNameValues.put("java.net.SocketAddress", "{SocketAddress}");
-        normalTypeNameValues.put("java.net.InetAddress", "{InetAddress}");
-        normalTypeNameValues.put("java.util.TimeZone", "{TimeZone}");
-        normalTypeNameValues.put("java.util.concurrent.atomic.AtomicBoolean", false);
-        normalTypeNameValues.put(CommonClassNames.JAVA_LANG_CLASS, "{Class}");
-        normalTypeNameValues.put("java.nio.file.Path", "{Path}");
-        normalTypeNameValues.put("java.lang.Thread", "{Thread}");
-        normalTypeNameValues.put(CommonClassNames.JAVA_LANG_THROWABLE, "{Throwable}");
-    }
-
-    private static Object getNormalTypeValue(PsiType psiType, Project project) {
-        if (!(psiType instanceof PsiClassType)) {
-            return null;
-        }
-
-        for (Map.Entry<String, Object> entry : normalTypeNameValues.entrySet()) {
-            PsiClassType psiClassType = PsiType.getTypeByName(entry.getKey(), project, GlobalSearchScope.allScope(project));
-            if (psiClassType.isAssignableFrom(psiType)) {
-                Object value = entry.getValue();
-                if (value instanceof Supplier) {
-                    return ((Supplier) value).get();
-                }
-                return value;
-            }
-        }
-        return null;
-    }
-
     static PsiClassType checkAndGetPsiType(DataContext dataContext) {
         Editor editor = CommonDataKeys.EDITOR.getData(dataContext);
         PsiFile psiFile = CommonDataKeys.PSI_FILE.getData(dataContext);
@@ -191,17 +129,17 @@ public class MyPojoToJsonCore {
         }
     }
 
-    static Object resolveType(@NotNull PsiType psiType, @NotNull ProcessingInfo processingInfo) {
+    static PojoNode resolveType(@NotNull PsiType psiType, @NotNull ProcessingInfo processingInfo) {
         String className = getClassName(psiType);
         // 要放在try/finally外面
         ProcessingInfo.CheckProcessingType checkProcessingType = processingInfo.checkProcessingType(psiType);
         if (checkProcessingType == PROCESSING) {
             // 防止递归依赖
-            return "Recursion(" + className + ")...";
+            return new MarkerNode(MarkerNode.Kind.RECURSION, className);
         }
         if (checkProcessingType == MAX_DEPTH) {
             // 防止过深
-            return "MaxDepth(" + className + ")...";
+            return new MarkerNode(MarkerNode.Kind.MAX_DEPTH, className);
         }
 
         processingInfo.updateProgress(psiType); // resolveType
@@ -211,26 +149,29 @@ public class MyPojoToJsonCore {
             processingInfo.increase();
             processingInfo.startProcessType(psiType);
 
-            Object primitiveTypeDefaultValue = getDefaultValue(psiType, processingInfo.getProject());
+            PojoNode primitiveTypeDefaultValue = getDefaultValue(psiType, processingInfo);
             if (primitiveTypeDefaultValue != null) {
                 return primitiveTypeDefaultValue;
             }
 
             PsiClass psiClass = PsiUtil.resolveClassInClassTypeOnly(psiType);
+            if (psiClass != null) {
+                processingInfo.addDependency(psiClass);
+            }
 
             if (psiClass != null && CommonClassNames.JAVA_LANG_OBJECT.equals(psiClass.getQualifiedName())) {
-                return Collections.emptyMap();
+                return new ObjectNode();
             }
 
             if (psiType instanceof PsiArrayType) {
-                List<Object> list = new ArrayList<>();
+                ArrayNode list = new ArrayNode().setRepeat(processingInfo.getCollectionSize());
                 // 复杂类型支持返回非完整的转换
                 processingInfo.setResultIfAbsent(list);
                 PsiType deepType = psiType.getDeepComponentType();
                 list.add(resolveType(deepType, processingInfo)); // PsiArrayType
                 return list;
             } else {
-                Map<String, Object> map = new LinkedHashMap<>();
+                ObjectNode map = new ObjectNode();
                 // 复杂类型支持返回非完整的转换
                 if (psiClass == null) {
                     processingInfo.setResultIfAbsent(map);
@@ -238,15 +179,15 @@ public class MyPojoToJsonCore {
                 } else if (psiClass.isEnum()) {
                     for (PsiField field : psiClass.getFields()) {
                         if (field instanceof PsiEnumConstant) {
-                            return field.getName();
+                            return LeafNode.of(field.getName());
                         }
                     }
-                    return "";
+                    return LeafNode.EMPTY_STRING;
                 } else {
                     // java.lang.Iterable
                     PsiClassType iterableType = PsiType.getTypeByName(CommonClassNames.JAVA_LANG_ITERABLE, processingInfo.getProject(), GlobalSearchScope.allScope(processingInfo.getProject()));
                     if (iterableType.isAssignableFrom(psiType)) {
-                        List<Object> list = new ArrayList<>();
+                        ArrayNode list = new ArrayNode().setRepeat(processingInfo.getCollectionSize());
                         // 复杂类型支持返回非完整的转换
                         processingInfo.setResultIfAbsent(list);
                         PsiType deepType = PsiUtil.extractIterableTypeParameter(psiType, false);
@@ -259,6 +200,7 @@ public class MyPojoToJsonCore {
                     // java.util.Map
                     PsiClassType mapType = PsiType.getTypeByName(CommonClassNames.JAVA_UTIL_MAP, processingInfo.getProject(), GlobalSearchScope.allScope(processingInfo.getProject()));
                     if (mapType.isAssignableFrom(psiType)) {
+                        map.setRepeat(processingInfo.getCollectionSize());
                         processingInfo.setResultIfAbsent(map);
                         // java.util.Map
                         PsiClass mapClass = mapType.resolve();
@@ -267,8 +209,8 @@ public class MyPojoToJsonCore {
                             public boolean process(PsiType psiType) {
                                 ClassResolveResult classResolveResult = PsiUtil.resolveGenericsClassInType(psiType);
                                 if (Objects.requireNonNull(mapClass).equals(classResolveResult.getElement())) {
-                                    Object key = null;
-                                    Object value = null;
+                                    String key = null;
+                                    PojoNode value = null;
                                     PsiType keyRealType = null;
                                     for (Map.Entry<PsiTypeParameter, PsiType> entry : classResolveResult.getSubstitutor().getSubstitutionMap().entrySet()) {
                                         PsiType realType = entry.getValue();
@@ -283,17 +225,17 @@ public class MyPojoToJsonCore {
                                             }
                                         } else if ("V".equals(name)) {
                                             if (realType == null) {
-                                                value = "(rawType)";
+                                                value = LeafNode.RAW_TYPE;
                                             } else {
                                                 value = resolveType(realType, processingInfo); // V of Map
                                             }
                                         }
                                     }
                                     if (key != null) {
-                                        map.put(String.valueOf(key), value);
+                                        map.put(key, value);
                                         if (keyRealType != null) {
-                                            Object resolvedKey = resolveType(keyRealType, processingInfo); // __key__ of Map
-                                            if (resolvedKey instanceof Map && !((Map) resolvedKey).isEmpty()) {
+                                            PojoNode resolvedKey = resolveType(keyRealType, processingInfo); // __key__ of Map
+                                            if (resolvedKey instanceof ObjectNode && !((ObjectNode) resolvedKey).isEmpty()) {
                                                 // 使用额外的属性记录key的数据结构
                                                 map.put("__key__", resolvedKey);
                                             }
@@ -307,15 +249,23 @@ public class MyPojoToJsonCore {
                         return map;
                     }
 
-                    // interface
-                    if (psiClass.isInterface()) {
-                        return "{}";
+                    // interface, abstract class
+                    if (psiClass.isInterface() || psiClass.hasModifierProperty(PsiModifier.ABSTRACT)) {
+                        ImplementationResolver implementationResolver = processingInfo.getImplementationResolver();
+                        PsiType implementationType = implementationResolver == null || !(psiType instanceof PsiClassType)
+                            ? null : implementationResolver.resolve((PsiClassType) psiType, psiClass);
+                        if (implementationType != null) {
+                            return resolveType(implementationType, processingInfo); // 实现类
+                        }
+                        if (psiClass.isInterface()) {
+                            return LeafNode.EMPTY_OBJECT_TEXT;
+                        }
                     }
 
-                    // result可能是防止递归的字符串
+                    // result可能是防止递归的标记节点
                     processingInfo.setResultIfAbsent(map);
-                    String result = listAllMyNonStaticFields(psiType, map, processingInfo); // 属性解析递归
-                    return Optional.<Object>ofNullable(result/*递归文字*/).orElse(map);
+                    PojoNode result = listAllMyNonStaticFields(psiType, map, FieldDescriptor.getIgnoredProperties(psiClass), processingInfo); // 属性解析递归
+                    return Optional.ofNullable(result/*递归标记*/).orElse(map);
                 }
             }
         } finally {
@@ -324,14 +274,6 @@ public class MyPojoToJsonCore {
         }
     }
 
-    private static boolean isIgnoreForKey(PsiField psiField) {
-        PsiModifierList modifierList = psiField.getModifierList();
-        if (modifierList != null && (modifierList.hasExplicitModifier(PsiModifier.STATIC) || modifierList.hasExplicitModifier(PsiModifier.TRANSIENT))) {
-            return true;
-        }
-        return false;
-    }
-
     private static boolean isGenericType(PsiType psiType) {
         if (PsiUtil.resolveClassInClassTypeOnly(psiType) instanceof PsiTypeParameter) {
             return true;
@@ -419,6 +361,39 @@ public class MyPojoToJsonCore {
         return realType;
     }
 
+    private static String getJavadoc(PsiField psiField, ProcessingInfo processingInfo) {
+        if (!processingInfo.isJavadoc()) {
+            return null;
+        }
+        PsiClass containingClass = psiField.getContainingClass();
+        if (containingClass instanceof ClsClassImpl) {
+            if (!processingInfo.isLibraryJavadoc()) {
+                return null;
+            }
+            return getLibraryJavadocs((ClsClassImpl) containingClass).get(psiField.getName());
+        }
+        return getJavadoc(psiField);
+    }
+
+    /**
+     * 类库中的类的字段javadoc（来自源码），按class文件缓存，项目依赖变化时失效
+     */
+    private static Map<String, String> getLibraryJavadocs(ClsClassImpl clsClass) {
+        return CachedValuesManager.getCachedValue(clsClass, () -> {
+            Map<String, String> javadocs = new HashMap<>();
+            PsiClass sourceMirrorClass = clsClass.getSourceMirrorClass();
+            if (sourceMirrorClass != null) {
+                for (PsiField psiField : sourceMirrorClass.getFields()) {
+                    String javadoc = getJavadoc(psiField);
+                    if (javadoc != null) {
+                        javadocs.put(psiField.getName(), javadoc);
+                    }
+                }
+            }
+            return CachedValueProvider.Result.create(javadocs, ProjectRootModificationTracker.getInstance(clsClass.getProject()));
+        });
+    }
+
     private static String getJavadoc(PsiField psiField) {
         PsiDocComment psiDocComment = PsiTreeUtil.getChildOfType(psiField, PsiDocComment.class);
         if (psiDocComment != null) {
@@ -435,7 +410,10 @@ public class MyPojoToJsonCore {
         return null;
     }
 
-    private static String listAllMyNonStaticFields(@NotNull PsiType psiType, Map<String, Object> map, ProcessingInfo processingInfo) {
+    /**
+     * @param ignoredProperties 被转换的类及其父类上 @JsonIgnoreProperties 指定的属性，递归父类时沿用
+     */
+    private static PojoNode listAllMyNonStaticFields(@NotNull PsiType psiType, ObjectNode map, Set<String> ignoredProperties, ProcessingInfo processingInfo) {
         String className = getClassName(psiType);
 
         processingInfo.updateProgress(psiType); // listAllMyNonStaticFields
@@ -446,32 +424,26 @@ public class MyPojoToJsonCore {
         if (psiClass == null) {
             return null;
         }
+        // 父类
+        processingInfo.addDependency(psiClass);
 
-        // add support for Android Application
-        if (psiClass instanceof ClsClassImpl) {
-            PsiClass sourceMirrorClass = ((ClsClassImpl) psiClass).getSourceMirrorClass();
-            if (sourceMirrorClass != null) {
-                psiClass = sourceMirrorClass;
-            }
-        }
-
-        for (PsiField psiField : psiClass.getFields()) {
-            if (isIgnoreForKey(psiField)) {
+        // 类库中的类直接使用编译后的字段（stub），不再查找/解析源码，只有需要javadoc时才使用源码
+        // 字段名和忽略规则按类缓存
+        for (FieldDescriptor fieldDescriptor : FieldDescriptor.of(psiClass)) {
+            if (fieldDescriptor.isIgnored(ignoredProperties)) {
                 continue;
             }
+            PsiField psiField = fieldDescriptor.getField();
             PsiType finalType = processGenericType(psiField, psiType);
-            Object value;
+            PojoNode value;
             if (finalType == null) {
-                value = "null(rawType)(" + className + ":" + psiField.getType().getPresentableText() + ")";
+                value = LeafNode.of("null(rawType)(" + className + ":" + psiField.getType().getPresentableText() + ")");
             } else {
+                processingInfo.setFieldName(psiField.getName()).setFieldFormat(fieldDescriptor.getFormat());
                 value = resolveType(finalType, processingInfo); // listAllMyNonStaticFields
             }
-            String javadoc = getJavadoc(psiField);
-            String fieldName = getAnnotationPreferredFieldName(psiField);
-            if (javadoc != null) {
-                map.put(JAVA_DOC_KEY + "-" + fieldName, javadoc);
-            }
-            map.put(fieldName, value);
+            String javadoc = getJavadoc(psiField, processingInfo);
+            map.put(fieldDescriptor.getJsonName(), value, javadoc);
         }
 
         // 模糊的
@@ -499,164 +471,122 @@ public class MyPojoToJsonCore {
         }
 
         if (superClassType instanceof PsiClassType) {
-            return listAllMyNonStaticFields(superClassType, map, processingInfo); // 父类递归
+            return listAllMyNonStaticFields(superClassType, map, ignoredProperties, processingInfo); // 父类递归
         }
         return null;
     }
 
-    private static String getAnnotationPreferredFieldName(PsiField psiField) {
-        PsiAnnotation[] annotations = psiField.getAnnotations();
-        if (!ArrayUtils.isEmpty(annotations)) {
-            for (PsiAnnotation annotation : annotations) {
-                String qualifiedName = annotation.getQualifiedName();
-                if ("com.fasterxml.jackson.annotation.JsonProperty".equalsIgnoreCase(qualifiedName)) {
-                    PsiAnnotationParameterList parameterList = annotation.getParameterList();
-                    for (PsiNameValuePair psiNameValuePair : parameterList.getAttributes()) {
-                        PsiAnnotationMemberValue value = psiNameValuePair.getValue();
-                        if (StringUtils.isBlank(psiNameValuePair.getName()) && value != null) {
-                            if (value instanceof PsiLiteralExpression) {
-                                PsiLiteralExpression expression = (PsiLiteralExpression) value;
-                                if (expression.getValue() instanceof String) {
-                                    return expression.getValue().toString();
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        return psiField.getName();
-    }
-
-    private static Object getDefaultValue(PsiType psiType, Project project) {
+    private static PojoNode getDefaultValue(PsiType psiType, ProcessingInfo processingInfo) {
         // 基本类型
         if (psiType instanceof PsiPrimitiveType) {
-            return getPrimitiveTypeDefaultValue(psiType.getCanonicalText());
+            return processingInfo.getSampleValueGenerator().vary(getPrimitiveTypeDefaultValue(psiType.getCanonicalText()), processingInfo.getFieldName());
         }
-        // 包装类型
         if (psiType instanceof PsiClassType) {
             PsiClass psiClass = ((PsiClassType) psiType).resolve();
 
             if (psiClass != null) {
+                Supplier<List<String>> superTypeClosure = () -> processingInfo.getSuperTypeClosure(psiClass);
+                SampleValueGenerator generator = processingInfo.getSampleValueGenerator();
+                String fieldName = processingInfo.getFieldName();
+                // 用户配置的规则优先，命中后不再解析字段
+                SampleValueGenerator.Sample sample = processingInfo.getTypeDefaultRules().match(psiClass, superTypeClosure);
+                if (sample != null) {
+                    return sample.create(generator, fieldName);
+                }
+
+                // 字段上指定的日期格式
+                String fieldFormat = processingInfo.getFieldFormat();
+                if (fieldFormat != null && isDateType(psiClass, superTypeClosure)) {
+                    PojoNode value = generator.format(fieldFormat, fieldName);
+                    if (value != null) {
+                        return value;
+                    }
+                }
+
+                // 包装类型
                 String qualifiedName = psiClass.getQualifiedName();
                 // 包装类的包名前缀
                 String prefix = "java.lang.";
                 if (qualifiedName != null && qualifiedName.startsWith(prefix)) {
-                    Object value = getPrimitiveTypeDefaultValue(qualifiedName.substring(prefix.length()));
+                    PojoNode value = getPrimitiveTypeDefaultValue(qualifiedName.substring(prefix.length()));
                     if (value != null) {
-                        return value;
+                        return generator.vary(value, fieldName);
                     }
                 }
+
+                // 特殊类型
+                sample = TypeDefaultRules.BUILT_IN.match(psiClass, superTypeClosure);
+                if (sample != null) {
+                    return generator.vary(sample.create(generator, fieldName), fieldName);
+                }
             }
         }
-        // 特殊类型
-        Object normalTypeValue = getNormalTypeValue(psiType, project);
-        if (normalTypeValue != null) {
-            return normalTypeValue;
-        }
         return null;
     }
 
+    private static boolean isDateType(PsiClass psiClass, Supplier<List<String>> superTypeClosure) {
+        String qualifiedName = psiClass.getQualifiedName();
+        if (CommonClassNames.JAVA_UTIL_DATE.equals(qualifiedName) || "java.time.temporal.TemporalAccessor".equals(qualifiedName)) {
+            return true;
+        }
+        List<String> superTypes = superTypeClosure.get();
+        return superTypes.contains(CommonClassNames.JAVA_UTIL_DATE) || superTypes.contains("java.time.temporal.TemporalAccessor");
+    }
+
     /**
      * 获取类型的默认值
      * @param typeName
      * @return
      */
-    private static Object getPrimitiveTypeDefaultValue(@NotNull String typeName) {
+    private static PojoNode getPrimitiveTypeDefaultValue(@NotNull String typeName) {
         typeName = typeName.toLowerCase();
         switch (typeName) {
             case "boolean":
-                return false;
+                return LeafNode.FALSE;
             case "byte":
-                return (byte) 0;
-            case "character": // 兼容包装类型
-            case "char":
-                return 'C';
             case "short":
-                return (short) 0;
             case "int":
-                return 0;
             case "long":
-                return 0L;
+                return LeafNode.ZERO;
+            case "character": // 兼容包装类型
+            case "char":
+                return LeafNode.CHAR;
             case "float":
-                return zero;
             case "double":
-                return zero;
+                return LeafNode.DECIMAL_ZERO;
             default:
                 return null;
         }
     }
 
-    @NotNull
-    private static String formatJavadoc(@NotNull String javadoc) {
-        javadoc = javadoc.substring("/**".length());
-        javadoc = javadoc.substring(0, javadoc.length() - "*/".length());
-        LineReader lineReader = new LineReader(new StringReader(javadoc));
-        StringBuilder builder = new StringBuilder();
-        String line;
-        try {
-            while ((line = lineReader.readLine()) != null) {
-                line = line.trim();
-                if (line.startsWith("*")) {
-                    line = line.substring(1).trim();
-                }
-                builder.append(line);
-            }
-        } catch (IOException e) {
-            throw new MyPluginException("get javadoc fail", e);
+    /**
+     * 流式输出转换结果，内存占用与重复输出的集合元素个数无关。只有PRETTY需要处理javadoc
+     * @param indentWidth PRETTY的缩进空格数
+     */
+    static void writeJson(@NotNull PojoNode result, @NotNull Writer writer, @NotNull OutputMode outputMode, int indentWidth) throws IOException {
+        switch (outputMode) {
+            case PRETTY:
+                JavadocFormatWriter formatWriter = new JavadocFormatWriter(writer);
+                JsonWriter jsonWriter = new JsonWriter(formatWriter);
+                jsonWriter.setIndent(StringUtils.repeat(' ', Math.max(1, indentWidth)));
+                result.write(jsonWriter, true, 0);
+                jsonWriter.flush();
+                formatWriter.finish();
+                break;
+            case COMPACT:
+                writeJson(result, new CompactFormatWriter(writer));
+                break;
+            default:
+                writeJson(result, writer);
+                break;
         }
-        return builder.toString();
+        writer.flush();
     }
 
-    static String myFormat(String json) throws IOException {
-        StringBuilder builder = new StringBuilder();
-        LineReader lineReader = new LineReader(new StringReader(json));
-        String line = lineReader.readLine();
-        do {
-            String trimLine = line.trim();
-            String javadoc = null;
-            if (trimLine.startsWith("\""+ JAVA_DOC_KEY)) {
-                if (trimLine.endsWith(",")) {
-                    trimLine = trimLine.substring(0, trimLine.length() - 1);
-                }
-                Map<String, String> javadocMap = GSON.fromJson("{" + trimLine + "}", new TypeToken<Map<String, String>>() {
-                }.getType());
-                String _javadoc;
-                Iterator<String> iterator;
-                if ((iterator = javadocMap.values().iterator()).hasNext() && (_javadoc = iterator.next()) != null) {
-                    javadoc = formatJavadoc(_javadoc);
-                }
-                line = lineReader.readLine();
-                if (line == null) {
-                    // javadoc居然是最后一行，丢弃javadoc
-                    break;
-                }
-            }
-
-            StringBuilder spaceBuilder = new StringBuilder();
-            for (char c : line.toCharArray()) {
-                if (c == ' ') {
-                    spaceBuilder.append(c);
-                } else {
-                    break;
-                }
-            }
-            if (spaceBuilder.length() > 0) {
-                builder.append(spaceBuilder);
-            }
-            builder.append(line);
-
-            if (javadoc != null) {
-                builder.append("  // ").append(javadoc);
-            }
-
-            // 换行符
-            line = lineReader.readLine();
-            if (line != null) {
-                builder.append(System.lineSeparator());
-            }
-        } while (line != null);
-        return builder.toString();
+    private static void writeJson(PojoNode result, Writer writer) throws IOException {
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        result.write(jsonWriter, false, 0);
+        jsonWriter.flush();
     }
 
 }
@@ -0,0 +1,163 @@
+package com.clu.idea.utils;
+
+import com.clu.idea.settings.MyPojoToJsonSettings;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications.Bus;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.vcs.changes.ChangeListManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.IncorrectOperationException;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.*;
+import java.awt.datatransfer.Clipboard;
+import java.awt.datatransfer.StringSelection;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 根据未提交的改动找出受影响的示例（见 {@link MyPojoToJsonSnapshots}），只重新转换这些示例并报告结构差异
+ */
+public class MyPojoToJsonImpactAction extends AnAction {
+
+    @Override
+    public void update(AnActionEvent e) {
+        e.getPresentation().setEnabled(e.getProject() != null);
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+
+        List<VirtualFile> changedFiles = ChangeListManager.getInstance(project).getAffectedFiles();
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Checking changed JSON samples...") {
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                ConversionOptions options = MyPojoToJsonSettings.getInstance().toConversionOptions();
+                MyPojoToJsonService service = MyPojoToJsonService.getInstance(project);
+                MyPojoToJsonSnapshots snapshots = MyPojoToJsonSnapshots.getInstance(project);
+
+                Set<String> changedTypes = ApplicationManager.getApplication().runReadAction((Computable<Set<String>>) () -> findChangedTypes(project, changedFiles, snapshots.getAllDependencies()));
+                Set<String> affected = snapshots.findAffected(changedTypes);
+
+                // 全部转换完成后再记录，取消时不覆盖已有的结构
+                Map<String, ConversionResult> results = new LinkedHashMap<>();
+                for (String key : affected) {
+                    indicator.checkCanceled();
+                    PsiType psiType = ApplicationManager.getApplication().runReadAction((Computable<PsiType>) () -> {
+                        try {
+                            return JavaPsiFacade.getElementFactory(project).createTypeFromText(key, null);
+                        } catch (IncorrectOperationException ex) {
+                            return null;
+                        }
+                    });
+                    if (psiType == null) {
+                        continue;
+                    }
+                    ConversionResult result = service.convert(psiType, options, indicator);
+                    if (result == null || !result.isComplete()) {
+                        Bus.notify(MyPojoToJsonAction.notifyGroup.createNotification("Check cancelled, recorded samples were left unchanged.", NotificationType.WARNING), project);
+                        return;
+                    }
+                    results.put(key, result);
+                }
+
+                StringBuilder report = new StringBuilder();
+                int changedCount = 0;
+                for (Map.Entry<String, ConversionResult> entry : results.entrySet()) {
+                    String key = entry.getKey();
+                    ConversionResult result = entry.getValue();
+                    MyPojoToJsonSnapshots.Snapshot previous = snapshots.record(key, result.getNode(), result.getDependencies());
+                    MyPojoToJsonSnapshots.Snapshot current = snapshots.get(key);
+                    List<String> changes = previous == null || current == null || previous.hash.equals(current.hash)
+                        ? Collections.emptyList()
+                        : ShapeDiff.diff(previous.shape, current.shape);
+                    if (!changes.isEmpty()) {
+                        changedCount++;
+                        report.append(key).append(System.lineSeparator());
+                        for (String change : changes) {
+                            report.append("    ").append(change).append(System.lineSeparator());
+                        }
+                    }
+                }
+
+                String message = affected.size() + " sample(s) affected by local changes, " + changedCount + " changed shape.";
+                if (changedCount > 0) {
+                    StringSelection selection = new StringSelection(report.toString());
+                    Clipboard clipboard = Toolkit.getDefaultToolkit().getSystemClipboard();
+                    clipboard.setContents(selection, selection);
+                    message += " Report copied to clipboard.";
+                }
+                Bus.notify(MyPojoToJsonAction.notifyGroup.createNotification(message, NotificationType.INFORMATION), project);
+            }
+        });
+    }
+
+    /**
+     * 改动的文件中声明的类及其接口/抽象父类（实现类的增减会改变实现类解析的结果），以及已经不存在的依赖类型（如被删除或改名）
+     */
+    private static Set<String> findChangedTypes(Project project, List<VirtualFile> changedFiles, Set<String> knownDependencies) {
+        Set<String> changedTypes = new HashSet<>();
+        PsiManager psiManager = PsiManager.getInstance(project);
+        for (VirtualFile changedFile : changedFiles) {
+            if (!changedFile.isValid()) {
+                continue;
+            }
+            PsiFile psiFile = psiManager.findFile(changedFile);
+            if (psiFile instanceof PsiJavaFile) {
+                for (PsiClass psiClass : PsiTreeUtil.findChildrenOfType(psiFile, PsiClass.class)) {
+                    if (psiClass.getQualifiedName() != null) {
+                        changedTypes.add(psiClass.getQualifiedName());
+                        addAbstractSupers(psiClass, changedTypes);
+                    }
+                }
+            }
+        }
+        JavaPsiFacade facade = JavaPsiFacade.getInstance(project);
+        GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+        for (String dependency : knownDependencies) {
+            if (!changedTypes.contains(dependency) && facade.findClass(dependency, scope) == null) {
+                changedTypes.add(dependency);
+            }
+        }
+        return changedTypes;
+    }
+
+    private static void addAbstractSupers(PsiClass psiClass, Set<String> changedTypes) {
+        Set<PsiClass> visited = new HashSet<>();
+        Deque<PsiClass> queue = new ArrayDeque<>();
+        queue.add(psiClass);
+        while (!queue.isEmpty()) {
+            for (PsiClass superClass : queue.poll().getSupers()) {
+                if (!visited.add(superClass)) {
+                    continue;
+                }
+                if (superClass.getQualifiedName() != null && (superClass.isInterface() || superClass.hasModifierProperty(PsiModifier.ABSTRACT))) {
+                    changedTypes.add(superClass.getQualifiedName());
+                }
+                queue.add(superClass);
+            }
+        }
+    }
+
+}
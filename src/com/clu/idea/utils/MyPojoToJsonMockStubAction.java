@@ -0,0 +1,66 @@
+package com.clu.idea.utils;
+
+import com.clu.idea.MyPluginException;
+import com.clu.idea.settings.MyPojoToJsonSettings;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications.Bus;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * 为项目中所有Spring controller接口生成mock server的stub mapping文件
+ */
+public class MyPojoToJsonMockStubAction extends AnAction {
+
+    @Override
+    public void update(AnActionEvent e) {
+        e.getPresentation().setEnabled(e.getProject() != null && e.getProject().getBasePath() != null);
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null || project.getBasePath() == null) {
+            return;
+        }
+        MyPojoToJsonSettings settings = MyPojoToJsonSettings.getInstance();
+        File directory = new File(settings.stubDirectory);
+        if (!directory.isAbsolute()) {
+            directory = new File(project.getBasePath(), settings.stubDirectory);
+        }
+        File stubDirectory = directory;
+        ConversionOptions options = settings.toConversionOptions();
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Generating mock stubs...") {
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                int count;
+                try {
+                    count = new MockStubGenerator(project, options).generate(stubDirectory, indicator);
+                } catch (ProcessCanceledException ex) {
+                    Bus.notify(MyPojoToJsonAction.notifyGroup.createNotification("Mock stub generation cancelled, " + stubDirectory.getPath() + " was left unchanged.", NotificationType.WARNING), project);
+                    throw ex;
+                } catch (MyPluginException ex) {
+                    Bus.notify(MyPojoToJsonAction.notifyGroup.createNotification("Mock stub generation failed, " + stubDirectory.getPath() + " was left unchanged: " + ex.getMessage(), NotificationType.ERROR), project);
+                    return;
+                } catch (IOException ex) {
+                    throw new MyPluginException("Error", ex);
+                }
+                String message = count == 0
+                    ? "No Spring controller endpoints found."
+                    : "Generated " + count + " mock stub(s) in " + stubDirectory.getPath() + ".";
+                Bus.notify(MyPojoToJsonAction.notifyGroup.createNotification(message, NotificationType.INFORMATION), project);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.clu.idea.utils;
+
+import com.clu.idea.settings.MyPojoToJsonSettings;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+/**
+ * 转换结果直接流式写入文件，适合元素个数很多的集合（压测请求体等）
+ */
+public class MyPojoToJsonSaveAction extends MyPojoToJsonAction {
+
+    @Nullable
+    @Override
+    protected Output createOutput(@NotNull Project project, @NotNull String className) {
+        FileSaverDescriptor descriptor = new FileSaverDescriptor("Save JSON", "Save " + className + " as JSON", "json");
+        VirtualFileWrapper fileWrapper = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, project).save((VirtualFile) null, className + ".json");
+        if (fileWrapper == null) {
+            return null;
+        }
+        File file = fileWrapper.getFile();
+        MyPojoToJsonSettings settings = MyPojoToJsonSettings.getInstance();
+        OutputMode outputMode = settings.outputMode;
+        int indentWidth = settings.indentWidth;
+        return result -> {
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+                MyPojoToJsonCore.writeJson(result, writer, outputMode, indentWidth);
+            }
+            LocalFileSystem.getInstance().refreshIoFiles(Collections.singletonList(file));
+            return "Convert " + className + " to JSON success, saved to " + file.getPath() + ".";
+        };
+    }
+
+}
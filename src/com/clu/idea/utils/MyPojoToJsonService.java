@@ -0,0 +1,144 @@
+package com.clu.idea.utils;
+
+import com.clu.idea.utils.node.PojoNode;
+import com.intellij.openapi.actionSystem.DataContext;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Computable;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 供其它插件使用的转换入口，可在任意线程并发调用：每次请求使用独立的 {@link ProcessingInfo}，
+ * 完整的转换结果放入共享缓存（PSI变化后失效），也可以通过 {@link ConversionOptions#setCache} 指定自己的缓存
+ */
+public class MyPojoToJsonService {
+
+    private final Project project;
+
+    private final ConversionCache sharedCache;
+
+    public MyPojoToJsonService(@NotNull Project project) {
+        this.project = project;
+        this.sharedCache = new SharedConversionCache(project);
+    }
+
+    public static MyPojoToJsonService getInstance(@NotNull Project project) {
+        return ServiceManager.getService(project, MyPojoToJsonService.class);
+    }
+
+    /**
+     * 光标处的类型，需要在读锁中调用
+     */
+    @Nullable
+    public PsiClassType findPsiType(@NotNull DataContext dataContext) {
+        return MyPojoToJsonCore.checkAndGetPsiType(dataContext);
+    }
+
+    /**
+     * 在读锁中转换，取消时返回部分结果（{@link ConversionResult#isComplete()}为false）
+     * @param indicator 为null时不可取消
+     * @return 取消时还没有任何结果则返回null
+     */
+    @Nullable
+    public ConversionResult convert(@NotNull PsiType psiType, @NotNull ConversionOptions options, @Nullable ProgressIndicator indicator) {
+        ConversionOptions requestOptions = options.copy();
+        ConversionCache cache = requestOptions.getCache() != null ? requestOptions.getCache() : sharedCache;
+        ProcessingInfo processingInfo = requestOptions.newProcessingInfo(project, indicator != null ? indicator : new EmptyProgressIndicator());
+        return ApplicationManager.getApplication().runReadAction((Computable<ConversionResult>) () -> {
+            String key = psiType.getCanonicalText() + '\u0000' + requestOptions.cacheKey();
+            ConversionResult cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            try {
+                PojoNode node = MyPojoToJsonCore.resolveType(psiType, processingInfo);
+                ConversionResult result = new ConversionResult(node, processingInfo.getDependencies(), true);
+                cache.put(key, result);
+                return result;
+            } catch (ProcessCanceledException e) {
+                PojoNode partial = processingInfo.getResult();
+                return partial == null ? null : new ConversionResult(partial, processingInfo.getDependencies(), false);
+            }
+        });
+    }
+
+    /**
+     * 按options的输出格式流式写入sink，不关闭sink
+     */
+    public void write(@NotNull ConversionResult result, @NotNull ConversionOptions options, @NotNull Writer sink) throws IOException {
+        MyPojoToJsonCore.writeJson(result.getNode(), sink, options.getOutputMode(), options.getIndentWidth());
+    }
+
+    @NotNull
+    public String toJson(@NotNull ConversionResult result, @NotNull ConversionOptions options) {
+        StringWriter writer = new StringWriter();
+        try {
+            write(result, options, writer);
+        } catch (IOException e) {
+            // StringWriter不会抛出
+            throw new IllegalStateException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * PSI修改计数变化时清空。读锁中计数不会变化，所以get/put看到的是同一版本
+     */
+    private static class SharedConversionCache implements ConversionCache {
+
+        private static final int MAX_SIZE = 256;
+
+        private final Project project;
+
+        private final ConcurrentMap<String, ConversionResult> results = new ConcurrentHashMap<>();
+
+        private volatile long modificationCount = -1;
+
+        SharedConversionCache(Project project) {
+            this.project = project;
+        }
+
+        @Nullable
+        @Override
+        public ConversionResult get(@NotNull String key) {
+            validate();
+            return results.get(key);
+        }
+
+        @Override
+        public void put(@NotNull String key, @NotNull ConversionResult result) {
+            validate();
+            if (results.size() >= MAX_SIZE) {
+                results.clear();
+            }
+            results.put(key, result);
+        }
+
+        private void validate() {
+            long current = PsiManager.getInstance(project).getModificationTracker().getModificationCount();
+            if (current != modificationCount) {
+                synchronized (this) {
+                    if (current != modificationCount) {
+                        results.clear();
+                        modificationCount = current;
+                    }
+                }
+            }
+        }
+    }
+
+}
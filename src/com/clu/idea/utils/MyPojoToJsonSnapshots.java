@@ -0,0 +1,173 @@
+package com.clu.idea.utils;
+
+import com.clu.idea.MyPluginException;
+import com.clu.idea.utils.node.PojoNode;
+import com.google.gson.stream.JsonWriter;
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * 每个转换过的类型的结构（shape）、结构的hash以及转换时访问过的类型，保存在项目目录中，用于计算改动影响了哪些示例
+ */
+@State(name = "MyPojoToJsonSnapshots", storages = @Storage("myPojoToJsonSnapshots.xml"))
+public class MyPojoToJsonSnapshots implements PersistentStateComponent<MyPojoToJsonSnapshots.SnapshotState> {
+
+    public static class Snapshot {
+
+        public String hash;
+
+        public String shape;
+
+        /**
+         * 转换时访问过的类型的全限定名
+         */
+        public Set<String> dependencies = new TreeSet<>();
+
+    }
+
+    public static class SnapshotState {
+
+        /**
+         * key为类型的canonicalText
+         */
+        public Map<String, Snapshot> snapshots = new TreeMap<>();
+
+    }
+
+    private SnapshotState state = new SnapshotState();
+
+    /**
+     * 依赖类型 -> 依赖它的示例，按需重建
+     */
+    private Map<String, Set<String>> dependents;
+
+    public static MyPojoToJsonSnapshots getInstance(@NotNull Project project) {
+        return ServiceManager.getService(project, MyPojoToJsonSnapshots.class);
+    }
+
+    /**
+     * 返回副本，平台在锁外序列化，期间record()可能在后台修改
+     */
+    @Override
+    public synchronized SnapshotState getState() {
+        SnapshotState copy = new SnapshotState();
+        copy.snapshots.putAll(state.snapshots);
+        return copy;
+    }
+
+    @Override
+    public synchronized void loadState(@NotNull SnapshotState state) {
+        this.state = state;
+        this.dependents = null;
+    }
+
+    @Nullable
+    public synchronized Snapshot get(@NotNull String key) {
+        return state.snapshots.get(key);
+    }
+
+    /**
+     * 保存新的结构
+     * @return 原来的结构，没有时返回null
+     */
+    @Nullable
+    public synchronized Snapshot record(@NotNull String key, @NotNull PojoNode result, @NotNull Set<String> dependencies) {
+        Snapshot snapshot = new Snapshot();
+        snapshot.shape = shapeOf(result);
+        snapshot.hash = hash(snapshot.shape);
+        snapshot.dependencies = new TreeSet<>(dependencies);
+        Snapshot previous = state.snapshots.put(key, snapshot);
+        if (dependents != null) {
+            if (previous != null) {
+                for (String dependency : previous.dependencies) {
+                    Set<String> keys = dependents.get(dependency);
+                    if (keys != null) {
+                        keys.remove(key);
+                    }
+                }
+            }
+            index(key, snapshot);
+        }
+        return previous;
+    }
+
+    /**
+     * @param changedTypes 改动的类型的全限定名
+     * @return 受影响的示例的key
+     */
+    @NotNull
+    public synchronized Set<String> findAffected(@NotNull Collection<String> changedTypes) {
+        if (dependents == null) {
+            dependents = new HashMap<>();
+            for (Map.Entry<String, Snapshot> entry : state.snapshots.entrySet()) {
+                index(entry.getKey(), entry.getValue());
+            }
+        }
+        Set<String> affected = new TreeSet<>();
+        for (String changedType : changedTypes) {
+            Set<String> keys = dependents.get(changedType);
+            if (keys != null) {
+                affected.addAll(keys);
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * 所有示例依赖的类型
+     */
+    @NotNull
+    public synchronized Set<String> getAllDependencies() {
+        Set<String> dependencies = new HashSet<>();
+        for (Snapshot snapshot : state.snapshots.values()) {
+            dependencies.addAll(snapshot.dependencies);
+        }
+        return dependencies;
+    }
+
+    private void index(String key, Snapshot snapshot) {
+        for (String dependency : snapshot.dependencies) {
+            dependents.computeIfAbsent(dependency, k -> new HashSet<>()).add(key);
+        }
+    }
+
+    @NotNull
+    static String shapeOf(@NotNull PojoNode result) {
+        StringWriter writer = new StringWriter();
+        try {
+            JsonWriter jsonWriter = new JsonWriter(writer);
+            result.writeShape(jsonWriter);
+            jsonWriter.flush();
+        } catch (IOException e) {
+            throw new MyPluginException("write shape fail", e);
+        }
+        return writer.toString();
+    }
+
+    @NotNull
+    private static String hash(@NotNull String shape) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(shape.getBytes(StandardCharsets.UTF_8));
+            StringBuilder builder = new StringBuilder();
+            for (byte b : digest) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new MyPluginException(e);
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.clu.idea.utils;
+
+/**
+ * 转换结果的输出格式
+ */
+public enum OutputMode {
+
+    /**
+     * 多行缩进，javadoc转换为行尾注释
+     */
+    PRETTY("Pretty"),
+
+    /**
+     * 单行，逗号和冒号后保留一个空格，不输出javadoc
+     */
+    COMPACT("Compact (single line)"),
+
+    /**
+     * 单行，不含任何空白，不输出javadoc
+     */
+    MINIFIED("Minified");
+
+    private final String displayName;
+
+    OutputMode(String displayName) {
+        this.displayName = displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+
+}
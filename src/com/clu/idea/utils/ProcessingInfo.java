@@ -1,17 +1,24 @@
 package com.clu.idea.utils;
 
 import com.clu.idea.MyPluginException;
+import com.clu.idea.utils.node.PojoNode;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiType;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Stack;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class ProcessingInfo {
 
-    private AtomicReference<Object> result = new AtomicReference<>();
+    private AtomicReference<PojoNode> result = new AtomicReference<>();
 
     private int level;
 
@@ -21,6 +28,50 @@ public class ProcessingInfo {
 
     private Stack<PsiType> processingTypes = new Stack<>();
 
+    private TypeDefaultRules typeDefaultRules = TypeDefaultRules.EMPTY;
+
+    private SampleValueGenerator sampleValueGenerator = SampleValueGenerator.create(null, 0, false);
+
+    /**
+     * 正在解析的字段名，用于生成示例值
+     */
+    private String fieldName;
+
+    /**
+     * 正在解析的字段上指定的日期格式
+     */
+    private String fieldFormat;
+
+    /**
+     * 数组/集合/Map输出的元素个数
+     */
+    private int collectionSize = 1;
+
+    /**
+     * 是否查找类库源码中的javadoc
+     */
+    private boolean libraryJavadoc;
+
+    /**
+     * 是否收集字段的javadoc，输出不包含注释时不需要
+     */
+    private boolean javadoc = true;
+
+    /**
+     * 接口/抽象类的实现类解析，为null时不解析
+     */
+    private ImplementationResolver implementationResolver;
+
+    /**
+     * 本次转换中各类的父类型闭包
+     */
+    private Map<String, List<String>> superTypeClosures = new HashMap<>();
+
+    /**
+     * 本次转换访问过的类型的全限定名
+     */
+    private Set<String> dependencies = new HashSet<>();
+
     public void startProcessType(PsiType psiType) {
         this.processingTypes.push(psiType);
     }
@@ -67,18 +118,37 @@ public class ProcessingInfo {
         this.progressIndicator.setText("Processing: " + psiType.getPresentableText());
     }
 
+    public List<String> getSuperTypeClosure(PsiClass psiClass) {
+        String qualifiedName = psiClass.getQualifiedName();
+        if (qualifiedName == null) {
+            return TypeDefaultRules.superTypeClosure(psiClass);
+        }
+        return this.superTypeClosures.computeIfAbsent(qualifiedName, key -> TypeDefaultRules.superTypeClosure(psiClass));
+    }
+
+    public void addDependency(PsiClass psiClass) {
+        String qualifiedName = psiClass.getQualifiedName();
+        if (qualifiedName != null) {
+            this.dependencies.add(qualifiedName);
+        }
+    }
+
     // getters and setters
 
-    public Object getResult() {
+    public Set<String> getDependencies() {
+        return dependencies;
+    }
+
+    public PojoNode getResult() {
         return this.result.get();
     }
 
-    public ProcessingInfo setResultIfAbsent(Object result) {
+    public ProcessingInfo setResultIfAbsent(PojoNode result) {
         this.result.compareAndSet(null, result);
         return this;
     }
 
-    public ProcessingInfo setResult(Object result) {
+    public ProcessingInfo setResult(PojoNode result) {
         this.result.set(result);
         return this;
     }
@@ -109,4 +179,76 @@ public class ProcessingInfo {
         return this;
     }
 
+    public TypeDefaultRules getTypeDefaultRules() {
+        return typeDefaultRules;
+    }
+
+    public ProcessingInfo setTypeDefaultRules(TypeDefaultRules typeDefaultRules) {
+        this.typeDefaultRules = typeDefaultRules;
+        return this;
+    }
+
+    public SampleValueGenerator getSampleValueGenerator() {
+        return sampleValueGenerator;
+    }
+
+    public ProcessingInfo setSampleValueGenerator(SampleValueGenerator sampleValueGenerator) {
+        this.sampleValueGenerator = sampleValueGenerator;
+        return this;
+    }
+
+    public String getFieldFormat() {
+        return fieldFormat;
+    }
+
+    public ProcessingInfo setFieldFormat(String fieldFormat) {
+        this.fieldFormat = fieldFormat;
+        return this;
+    }
+
+    public int getCollectionSize() {
+        return collectionSize;
+    }
+
+    public ProcessingInfo setCollectionSize(int collectionSize) {
+        this.collectionSize = Math.max(1, collectionSize);
+        return this;
+    }
+
+    public boolean isLibraryJavadoc() {
+        return libraryJavadoc;
+    }
+
+    public ProcessingInfo setLibraryJavadoc(boolean libraryJavadoc) {
+        this.libraryJavadoc = libraryJavadoc;
+        return this;
+    }
+
+    public boolean isJavadoc() {
+        return javadoc;
+    }
+
+    public ProcessingInfo setJavadoc(boolean javadoc) {
+        this.javadoc = javadoc;
+        return this;
+    }
+
+    public ImplementationResolver getImplementationResolver() {
+        return implementationResolver;
+    }
+
+    public ProcessingInfo setImplementationResolver(ImplementationResolver implementationResolver) {
+        this.implementationResolver = implementationResolver;
+        return this;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public ProcessingInfo setFieldName(String fieldName) {
+        this.fieldName = fieldName;
+        return this;
+    }
+
 }
@@ -0,0 +1,228 @@
+package com.clu.idea.utils;
+
+import com.clu.idea.MyPluginException;
+import com.clu.idea.utils.node.LeafNode;
+import com.clu.idea.utils.node.PojoNode;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 示例值生成，每次转换创建一个：时钟在创建时固定，其余值只由种子和字段名决定，同样的输入输出完全一致
+ */
+public class SampleValueGenerator {
+
+    public static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    public static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    public static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    /**
+     * 字段注解中指定的日期格式，无效的格式缓存为null
+     */
+    private static final ConcurrentMap<String, Optional<DateTimeFormatter>> PATTERN_FORMATTERS = new ConcurrentHashMap<>();
+
+    /**
+     * 类型默认值规则中的值来源
+     */
+    @FunctionalInterface
+    public interface Sample {
+        PojoNode create(SampleValueGenerator generator, @Nullable String fieldName);
+    }
+
+    private final LocalDateTime now;
+
+    private final long seed;
+
+    private final boolean realistic;
+
+    /**
+     * 集合元素重复输出时按元素序号变化
+     */
+    private boolean varyElements;
+
+    // 非realistic模式下同一次转换的时间值都相同，只格式化一次
+    private LeafNode dateTime;
+
+    private LeafNode date;
+
+    private LeafNode time;
+
+    private LeafNode timestamp;
+
+    /**
+     * 时间戳的时区
+     */
+    private final ZoneId zone;
+
+    public SampleValueGenerator(@NotNull LocalDateTime now, @NotNull ZoneId zone, long seed, boolean realistic) {
+        this.now = now;
+        this.zone = zone;
+        this.seed = seed;
+        this.realistic = realistic;
+    }
+
+    /**
+     * @param sampleTime 固定时间（yyyy-MM-dd HH:mm:ss），按UTC计算时间戳，保证不同机器结果一致；为空时使用当前时间和系统时区
+     * @throws MyPluginException 时间格式错误
+     */
+    @NotNull
+    public static SampleValueGenerator create(@Nullable String sampleTime, long seed, boolean realistic) {
+        LocalDateTime now;
+        ZoneId zone;
+        if (StringUtils.isBlank(sampleTime)) {
+            now = LocalDateTime.now().withNano(0);
+            zone = ZoneId.systemDefault();
+        } else {
+            zone = ZoneOffset.UTC;
+            try {
+                now = LocalDateTime.parse(sampleTime.trim(), DATE_TIME_FORMATTER);
+            } catch (DateTimeParseException e) {
+                throw new MyPluginException("Invalid sample time '" + sampleTime + "', expected yyyy-MM-dd HH:mm:ss", e);
+            }
+        }
+        return new SampleValueGenerator(now, zone, seed, realistic);
+    }
+
+    public SampleValueGenerator setVaryElements(boolean varyElements) {
+        this.varyElements = varyElements;
+        return this;
+    }
+
+    /**
+     * splitmix64
+     */
+    private long hash(@Nullable String fieldName, long salt) {
+        long h = seed + (fieldName == null ? 0 : fieldName.hashCode()) * 0x9E3779B97F4A7C15L + salt;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    private LocalDateTime sampleDateTime(@Nullable String fieldName) {
+        if (!realistic) {
+            return now;
+        }
+        // 一年内的某一分钟
+        return now.minusMinutes(Math.floorMod(hash(fieldName, 1), 525600));
+    }
+
+    public LeafNode dateTime(@Nullable String fieldName) {
+        if (realistic) {
+            return LeafNode.of(sampleDateTime(fieldName).format(DATE_TIME_FORMATTER));
+        }
+        if (dateTime == null) {
+            dateTime = LeafNode.of(now.format(DATE_TIME_FORMATTER));
+        }
+        return dateTime;
+    }
+
+    public LeafNode date(@Nullable String fieldName) {
+        if (realistic) {
+            return LeafNode.of(sampleDateTime(fieldName).format(DATE_FORMATTER));
+        }
+        if (date == null) {
+            date = LeafNode.of(now.format(DATE_FORMATTER));
+        }
+        return date;
+    }
+
+    public LeafNode time(@Nullable String fieldName) {
+        if (realistic) {
+            return LeafNode.of(sampleDateTime(fieldName).format(TIME_FORMATTER));
+        }
+        if (time == null) {
+            time = LeafNode.of(now.format(TIME_FORMATTER));
+        }
+        return time;
+    }
+
+    public LeafNode timestamp(@Nullable String fieldName) {
+        if (realistic) {
+            return LeafNode.of(sampleDateTime(fieldName).atZone(zone).toInstant().toEpochMilli());
+        }
+        if (timestamp == null) {
+            timestamp = LeafNode.of(now.atZone(zone).toInstant().toEpochMilli());
+        }
+        return timestamp;
+    }
+
+    /**
+     * 按指定格式输出时间，格式无效时返回null
+     */
+    @Nullable
+    public LeafNode format(@NotNull String pattern, @Nullable String fieldName) {
+        DateTimeFormatter formatter = PATTERN_FORMATTERS.computeIfAbsent(pattern, key -> {
+            try {
+                return Optional.of(DateTimeFormatter.ofPattern(key));
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+        if (formatter == null) {
+            return null;
+        }
+        try {
+            return LeafNode.of(sampleDateTime(fieldName).format(formatter));
+        } catch (DateTimeException e) {
+            // 如包含时区的格式
+            return null;
+        }
+    }
+
+    public LeafNode uuid(@Nullable String fieldName) {
+        return LeafNode.of(new UUID(hash(fieldName, 2), hash(fieldName, 3)).toString());
+    }
+
+    /**
+     * 处理类型默认值（0，0.00，false，""，'C'）：realistic模式下替换为由字段名决定的值，varyElements时标记为按元素序号变化，其它值原样返回
+     */
+    public PojoNode vary(PojoNode value, @Nullable String fieldName) {
+        if (!realistic && !varyElements) {
+            return value;
+        }
+        if (value != LeafNode.ZERO && value != LeafNode.DECIMAL_ZERO && value != LeafNode.FALSE && value != LeafNode.EMPTY_STRING && value != LeafNode.CHAR) {
+            return value;
+        }
+        PojoNode result = realistic ? realisticValue(value, fieldName) : value;
+        if (varyElements && value != LeafNode.CHAR) {
+            return LeafNode.variable((LeafNode) result);
+        }
+        return result;
+    }
+
+    private PojoNode realisticValue(PojoNode value, @Nullable String fieldName) {
+        long h = hash(fieldName, 0);
+        if (value == LeafNode.ZERO) {
+            // 兼容byte
+            return LeafNode.of(Math.floorMod(h, 100) + 1);
+        }
+        if (value == LeafNode.DECIMAL_ZERO) {
+            return LeafNode.of(BigDecimal.valueOf(Math.floorMod(h, 100000), 2));
+        }
+        if (value == LeafNode.FALSE) {
+            return LeafNode.of((h & 1) == 1);
+        }
+        if (value == LeafNode.EMPTY_STRING) {
+            return LeafNode.of(StringUtils.defaultIfEmpty(fieldName, "string") + "_" + Long.toHexString(h & 0xFFFF));
+        }
+        if (value == LeafNode.CHAR) {
+            return LeafNode.of((char) ('A' + Math.floorMod(h, 26)));
+        }
+        return value;
+    }
+
+}
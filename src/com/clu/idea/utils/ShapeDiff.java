@@ -0,0 +1,62 @@
+package com.clu.idea.utils;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 比较两个版本的结构（见 {@link com.clu.idea.utils.node.PojoNode#writeShape}）
+ */
+final class ShapeDiff {
+
+    private ShapeDiff() {
+    }
+
+    /**
+     * @return 每行一处差异："+ 路径"新增，"- 路径"删除，"~ 路径: 原结构 -> 新结构"类型变化
+     */
+    @NotNull
+    static List<String> diff(@NotNull String oldShape, @NotNull String newShape) {
+        JsonParser parser = new JsonParser();
+        List<String> changes = new ArrayList<>();
+        diff("$", parser.parse(oldShape), parser.parse(newShape), changes);
+        return changes;
+    }
+
+    private static void diff(String path, JsonElement oldElement, JsonElement newElement, List<String> changes) {
+        if (oldElement.isJsonObject() && newElement.isJsonObject()) {
+            JsonObject oldObject = oldElement.getAsJsonObject();
+            JsonObject newObject = newElement.getAsJsonObject();
+            for (Map.Entry<String, JsonElement> entry : oldObject.entrySet()) {
+                JsonElement newValue = newObject.get(entry.getKey());
+                if (newValue == null) {
+                    changes.add("- " + path + "." + entry.getKey());
+                } else {
+                    diff(path + "." + entry.getKey(), entry.getValue(), newValue, changes);
+                }
+            }
+            for (Map.Entry<String, JsonElement> entry : newObject.entrySet()) {
+                if (!oldObject.has(entry.getKey())) {
+                    changes.add("+ " + path + "." + entry.getKey() + ": " + entry.getValue());
+                }
+            }
+        } else if (oldElement.isJsonArray() && newElement.isJsonArray()) {
+            JsonArray oldArray = oldElement.getAsJsonArray();
+            JsonArray newArray = newElement.getAsJsonArray();
+            if (oldArray.size() > 0 && newArray.size() > 0) {
+                diff(path + "[]", oldArray.get(0), newArray.get(0), changes);
+            } else if (oldArray.size() != newArray.size()) {
+                changes.add("~ " + path + ": " + oldArray + " -> " + newArray);
+            }
+        } else if (!oldElement.equals(newElement)) {
+            changes.add("~ " + path + ": " + oldElement + " -> " + newElement);
+        }
+    }
+
+}
@@ -0,0 +1,293 @@
+package com.clu.idea.utils;
+
+import com.clu.idea.MyPluginException;
+import com.clu.idea.utils.SampleValueGenerator.Sample;
+import com.clu.idea.utils.node.ArrayNode;
+import com.clu.idea.utils.node.LeafNode;
+import com.clu.idea.utils.node.ObjectNode;
+import com.clu.idea.utils.node.PojoNode;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.intellij.psi.CommonClassNames;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiModifierList;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * 类型默认值规则，每行一条：
+ * <pre>
+ * # 注释
+ * fqn        com.acme.Money         = 0.00
+ * super      com.acme.Identifier    = "id"
+ * annotation com.acme.ValueObject   = "{ValueObject}"
+ * package    com.acme.ids           = @uuid
+ * </pre>
+ * 值为json字面量或以@开头的生成器名称（@datetime，@date，@time，@timestamp，@uuid），规则编译为：fqn/注解/父类使用HashMap，包名使用前缀树，父类通过预先计算的父类型闭包匹配
+ */
+public class TypeDefaultRules {
+
+    public static final TypeDefaultRules EMPTY = new TypeDefaultRules();
+
+    static final TypeDefaultRules BUILT_IN;
+
+    private static final Map<String, Sample> GENERATORS = new HashMap<>();
+
+    static {
+        GENERATORS.put("datetime", SampleValueGenerator::dateTime);
+        GENERATORS.put("date", SampleValueGenerator::date);
+        GENERATORS.put("time", SampleValueGenerator::time);
+        GENERATORS.put("timestamp", SampleValueGenerator::timestamp);
+        GENERATORS.put("uuid", SampleValueGenerator::uuid);
+
+        BUILT_IN = compile(String.join("\n",
+            "super " + CommonClassNames.JAVA_LANG_BOOLEAN + " = false",
+            "super " + CommonClassNames.JAVA_LANG_FLOAT + " = 0.00",
+            "super " + CommonClassNames.JAVA_LANG_DOUBLE + " = 0.00",
+            "super java.math.BigDecimal = 0.00",
+            "super " + CommonClassNames.JAVA_LANG_NUMBER + " = 0",
+            "super java.lang.CharSequence = \"\"",
+            "super " + CommonClassNames.JAVA_UTIL_DATE + " = @datetime",
+            "super java.time.LocalDateTime = @datetime",
+            "super java.time.LocalDate = @date",
+            "super java.time.LocalTime = @time",
+            "super java.time.temporal.Temporal = @timestamp",
+            "super " + CommonClassNames.JAVA_IO_FILE + " = \"{File}\"",
+            "super java.net.SocketAddress = \"{SocketAddress}\"",
+            "super java.net.InetAddress = \"{InetAddress}\"",
+            "super java.util.TimeZone = \"{TimeZone}\"",
+            "super java.util.concurrent.atomic.AtomicBoolean = false",
+            "super " + CommonClassNames.JAVA_LANG_CLASS + " = \"{Class}\"",
+            "super java.nio.file.Path = \"{Path}\"",
+            "super java.lang.Thread = \"{Thread}\"",
+            "super " + CommonClassNames.JAVA_LANG_THROWABLE + " = \"{Throwable}\""
+        ));
+    }
+
+    private final Map<String, Sample> fqnRules = new HashMap<>();
+
+    private final Map<String, Sample> superRules = new HashMap<>();
+
+    private final Map<String, Sample> annotationRules = new HashMap<>();
+
+    private final PackageTrie packageRules = new PackageTrie();
+
+    private String source = "";
+
+    private TypeDefaultRules() {
+    }
+
+    /**
+     * 编译规则文本
+     * @throws MyPluginException 规则格式错误
+     */
+    @NotNull
+    public static TypeDefaultRules compile(@Nullable String text) {
+        TypeDefaultRules rules = new TypeDefaultRules();
+        if (StringUtils.isBlank(text)) {
+            return rules;
+        }
+        rules.source = text;
+        String[] lines = text.split("\\r?\\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int eq = line.indexOf('=');
+            String[] head = eq < 0 ? new String[0] : line.substring(0, eq).trim().split("\\s+");
+            if (head.length != 2) {
+                throw new MyPluginException("Invalid type default rule at line " + (i + 1) + ": " + line);
+            }
+            Sample value = parseValue(line.substring(eq + 1).trim(), i + 1);
+            String pattern = head[1];
+            // 先出现的规则优先
+            switch (head[0]) {
+                case "fqn":
+                    rules.fqnRules.putIfAbsent(pattern, value);
+                    break;
+                case "super":
+                    rules.superRules.putIfAbsent(pattern, value);
+                    break;
+                case "annotation":
+                    rules.annotationRules.putIfAbsent(pattern, value);
+                    break;
+                case "package":
+                    rules.packageRules.putIfAbsent(pattern, value);
+                    break;
+                default:
+                    throw new MyPluginException("Unknown rule kind '" + head[0] + "' at line " + (i + 1) + ", expected fqn/super/annotation/package");
+            }
+        }
+        return rules;
+    }
+
+    private static Sample parseValue(String text, int lineNumber) {
+        if (text.startsWith("@")) {
+            Sample generator = GENERATORS.get(text.substring(1));
+            if (generator == null) {
+                throw new MyPluginException("Unknown generator '" + text + "' at line " + lineNumber + ", expected one of " + GENERATORS.keySet());
+            }
+            return generator;
+        }
+        PojoNode node;
+        try {
+            node = toNode(new JsonParser().parse(text));
+        } catch (JsonParseException e) {
+            throw new MyPluginException("Invalid json value at line " + lineNumber + ": " + text, e);
+        }
+        return (generator, fieldName) -> node;
+    }
+
+    private static PojoNode toNode(JsonElement element) {
+        if (element == null || element.isJsonNull()) {
+            return LeafNode.NULL;
+        }
+        if (element.isJsonPrimitive()) {
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                return LeafNode.of(primitive.getAsBoolean());
+            }
+            if (primitive.isNumber()) {
+                return LeafNode.of(primitive.getAsBigDecimal());
+            }
+            return LeafNode.of(primitive.getAsString());
+        }
+        if (element.isJsonArray()) {
+            ArrayNode arrayNode = new ArrayNode();
+            for (JsonElement item : element.getAsJsonArray()) {
+                arrayNode.add(toNode(item));
+            }
+            return arrayNode;
+        }
+        ObjectNode objectNode = new ObjectNode();
+        for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+            objectNode.put(entry.getKey(), toNode(entry.getValue()));
+        }
+        return objectNode;
+    }
+
+    /**
+     * 编译前的规则文本
+     */
+    @NotNull
+    public String getSource() {
+        return source;
+    }
+
+    public boolean isEmpty() {
+        return fqnRules.isEmpty() && superRules.isEmpty() && annotationRules.isEmpty() && packageRules.isEmpty();
+    }
+
+    /**
+     * 匹配顺序：fqn，类注解，父类型（含自身，由近及远），包名（最长前缀）
+     * <p>
+     * 类型变量没有全限定名，只按父类型（即上界）匹配，T extends Number 使用 Number 的规则
+     * @param superTypeClosure 父类型全限定名，按由近及远排序，不含自身（自身在遍历前单独匹配）
+     */
+    @Nullable
+    Sample match(@NotNull PsiClass psiClass, @NotNull Supplier<List<String>> superTypeClosure) {
+        if (isEmpty()) {
+            return null;
+        }
+        String qualifiedName = psiClass.getQualifiedName();
+
+        Sample value = qualifiedName == null ? null : fqnRules.get(qualifiedName);
+
+        if (value == null && qualifiedName != null && !annotationRules.isEmpty()) {
+            PsiModifierList modifierList = psiClass.getModifierList();
+            if (modifierList != null) {
+                for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+                    String annotationName = annotation.getQualifiedName();
+                    if (annotationName != null && (value = annotationRules.get(annotationName)) != null) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (value == null && qualifiedName != null && !superRules.isEmpty()) {
+            // super X 也匹配 X 本身
+            value = superRules.get(qualifiedName);
+        }
+        if (value == null && !superRules.isEmpty()) {
+            for (String superName : superTypeClosure.get()) {
+                if ((value = superRules.get(superName)) != null) {
+                    break;
+                }
+            }
+        }
+
+        if (value == null && qualifiedName != null && !packageRules.isEmpty()) {
+            value = packageRules.longestPrefix(StringUtils.substringBeforeLast(qualifiedName, "."));
+        }
+
+        return value;
+    }
+
+    /**
+     * 父类型（含接口）全限定名，按由近及远排序，不含自身
+     */
+    @NotNull
+    static List<String> superTypeClosure(@NotNull PsiClass psiClass) {
+        Set<String> names = new LinkedHashSet<>();
+        Deque<PsiClass> queue = new ArrayDeque<>();
+        queue.add(psiClass);
+        while (!queue.isEmpty()) {
+            for (PsiClass superClass : queue.poll().getSupers()) {
+                String name = superClass.getQualifiedName();
+                if (name != null && names.add(name)) {
+                    queue.add(superClass);
+                }
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * 按包名分段的前缀树
+     */
+    private static class PackageTrie {
+
+        private final Map<String, PackageTrie> children = new HashMap<>();
+
+        private Sample value;
+
+        void putIfAbsent(String packageName, Sample value) {
+            PackageTrie node = this;
+            for (String segment : StringUtils.split(packageName, '.')) {
+                node = node.children.computeIfAbsent(segment, key -> new PackageTrie());
+            }
+            if (node.value == null) {
+                node.value = value;
+            }
+        }
+
+        Sample longestPrefix(String packageName) {
+            Sample found = value;
+            PackageTrie node = this;
+            for (String segment : StringUtils.split(packageName, '.')) {
+                node = node.children.get(segment);
+                if (node == null) {
+                    break;
+                }
+                if (node.value != null) {
+                    found = node.value;
+                }
+            }
+            return found;
+        }
+
+        boolean isEmpty() {
+            return value == null && children.isEmpty();
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.clu.idea.utils.node;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * 数组/集合节点，设置repeat后元素作为模板重复输出，内存占用与输出的元素个数无关
+ */
+public final class ArrayNode extends PojoNode {
+
+    private static final PojoNode[] EMPTY_ELEMENTS = new PojoNode[0];
+
+    private PojoNode[] elements = EMPTY_ELEMENTS;
+
+    private int size;
+
+    private int repeat = 1;
+
+    private boolean frozen;
+
+    public ArrayNode add(PojoNode element) {
+        checkNotFrozen();
+        if (size == elements.length) {
+            PojoNode[] newElements = new PojoNode[Math.max(1, size << 1)];
+            System.arraycopy(elements, 0, newElements, 0, size);
+            elements = newElements;
+        }
+        elements[size++] = element == null ? LeafNode.NULL : element;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public ArrayNode setRepeat(int repeat) {
+        checkNotFrozen();
+        this.repeat = Math.max(1, repeat);
+        return this;
+    }
+
+    @Override
+    public ArrayNode freeze() {
+        if (!frozen) {
+            frozen = true;
+            for (int i = 0; i < size; i++) {
+                elements[i].freeze();
+            }
+        }
+        return this;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("ArrayNode is frozen");
+        }
+    }
+
+    @Override
+    public void writeShape(JsonWriter out) throws IOException {
+        out.beginArray();
+        for (int i = 0; i < size; i++) {
+            elements[i].writeShape(out);
+        }
+        out.endArray();
+    }
+
+    @Override
+    public void write(JsonWriter out, boolean javadoc, long variant) throws IOException {
+        out.beginArray();
+        for (int r = 0; r < repeat; r++) {
+            for (int i = 0; i < size; i++) {
+                elements[i].write(out, javadoc, variant * repeat + r);
+            }
+        }
+        out.endArray();
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.clu.idea.utils.node;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * 不可变的叶子节点，常用值使用共享单例
+ */
+public final class LeafNode extends PojoNode {
+
+    public static final LeafNode NULL = new LeafNode(null);
+
+    public static final LeafNode FALSE = new LeafNode(Boolean.FALSE);
+
+    public static final LeafNode TRUE = new LeafNode(Boolean.TRUE);
+
+    public static final LeafNode ZERO = new LeafNode(0);
+
+    public static final LeafNode DECIMAL_ZERO = new LeafNode(new BigDecimal("0.00"));
+
+    public static final LeafNode EMPTY_STRING = new LeafNode("");
+
+    public static final LeafNode CHAR = new LeafNode("C");
+
+    /**
+     * 接口类型的占位
+     */
+    public static final LeafNode EMPTY_OBJECT_TEXT = new LeafNode("{}");
+
+    public static final LeafNode RAW_TYPE = new LeafNode("(rawType)");
+
+    /**
+     * String, Number, Boolean 或 null
+     */
+    private final Object value;
+
+    /**
+     * 重复输出集合元素时是否按元素序号变化
+     */
+    private final boolean variable;
+
+    private LeafNode(Object value) {
+        this(value, false);
+    }
+
+    private LeafNode(Object value, boolean variable) {
+        this.value = value;
+        this.variable = variable;
+    }
+
+    /**
+     * 按元素序号变化的副本：数字加上序号，布尔值按奇偶取反，字符串追加"_序号"
+     */
+    public static LeafNode variable(LeafNode leafNode) {
+        if (leafNode.variable || leafNode.value == null) {
+            return leafNode;
+        }
+        return new LeafNode(leafNode.value, true);
+    }
+
+    public static LeafNode of(Object value) {
+        if (value == null) {
+            return NULL;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? TRUE : FALSE;
+        }
+        if (value instanceof Character) {
+            return 'C' == (Character) value ? CHAR : new LeafNode(value.toString());
+        }
+        if (value instanceof Number) {
+            if ((value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) && ((Number) value).longValue() == 0) {
+                return ZERO;
+            }
+            if (value instanceof BigDecimal && ((BigDecimal) value).signum() == 0) {
+                int scale = ((BigDecimal) value).scale();
+                if (scale == 0) {
+                    return ZERO;
+                }
+                if (scale == 2) {
+                    return DECIMAL_ZERO;
+                }
+            }
+            return new LeafNode(value);
+        }
+        String text = value.toString();
+        if (text.isEmpty()) {
+            return EMPTY_STRING;
+        }
+        return new LeafNode(text);
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public void writeShape(JsonWriter out) throws IOException {
+        if (value == null) {
+            out.value("null");
+        } else if (value instanceof Boolean) {
+            out.value("boolean");
+        } else if (value instanceof Number) {
+            out.value("number");
+        } else {
+            out.value("string");
+        }
+    }
+
+    @Override
+    public void write(JsonWriter out, boolean javadoc, long variant) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else if (value instanceof Boolean) {
+            boolean booleanValue = (Boolean) value;
+            out.value(variable && (variant & 1) == 1 ? !booleanValue : booleanValue);
+        } else if (value instanceof Number) {
+            if (!variable || variant == 0) {
+                out.value((Number) value);
+            } else if (value instanceof BigDecimal) {
+                out.value(((BigDecimal) value).add(BigDecimal.valueOf(variant)));
+            } else if (value instanceof Double || value instanceof Float) {
+                out.value(((Number) value).doubleValue() + variant);
+            } else {
+                out.value(((Number) value).longValue() + variant);
+            }
+        } else {
+            String text = (String) value;
+            if (variable && variant != 0) {
+                text = text.isEmpty() ? String.valueOf(variant) : text + "_" + variant;
+            }
+            out.value(text);
+        }
+    }
+
+}
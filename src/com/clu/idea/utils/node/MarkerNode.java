@@ -0,0 +1,50 @@
+package com.clu.idea.utils.node;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * 递归/深度截断的占位节点，输出时才拼接文字
+ */
+public final class MarkerNode extends PojoNode {
+
+    public enum Kind {
+        RECURSION("Recursion"),
+        MAX_DEPTH("MaxDepth");
+
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+    }
+
+    private final Kind kind;
+
+    private final String className;
+
+    public MarkerNode(Kind kind, String className) {
+        this.kind = kind;
+        this.className = className;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    @Override
+    public void writeShape(JsonWriter out) throws IOException {
+        out.value(kind.label + "(" + className + ")");
+    }
+
+    @Override
+    public void write(JsonWriter out, boolean javadoc, long variant) throws IOException {
+        out.value(kind.label + "(" + className + ")...");
+    }
+
+}
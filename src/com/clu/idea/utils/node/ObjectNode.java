@@ -0,0 +1,158 @@
+package com.clu.idea.utils.node;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * 对象节点，属性名/值/javadoc使用平行数组保存，保持插入顺序
+ */
+public final class ObjectNode extends PojoNode {
+
+    public static final String JAVA_DOC_KEY = "----JAVA_DOC----";
+
+    private static final Interner<String> NAMES = Interners.newWeakInterner();
+
+    private static final String[] EMPTY_NAMES = new String[0];
+
+    private static final PojoNode[] EMPTY_VALUES = new PojoNode[0];
+
+    private String[] names = EMPTY_NAMES;
+
+    private PojoNode[] values = EMPTY_VALUES;
+
+    /**
+     * 没有javadoc时不分配
+     */
+    private String[] javadocs;
+
+    private int size;
+
+    /**
+     * Map的条目重复输出的次数
+     */
+    private int repeat = 1;
+
+    private boolean frozen;
+
+    public ObjectNode put(String name, PojoNode value) {
+        return put(name, value, null);
+    }
+
+    /**
+     * 同名属性（如父类字段）覆盖原值但保留原位置，与LinkedHashMap一致
+     */
+    public ObjectNode put(String name, PojoNode value, String javadoc) {
+        checkNotFrozen();
+        int index = indexOf(name);
+        if (index < 0) {
+            if (size == names.length) {
+                int capacity = Math.max(4, size << 1);
+                String[] newNames = new String[capacity];
+                PojoNode[] newValues = new PojoNode[capacity];
+                System.arraycopy(names, 0, newNames, 0, size);
+                System.arraycopy(values, 0, newValues, 0, size);
+                names = newNames;
+                values = newValues;
+                if (javadocs != null) {
+                    String[] newJavadocs = new String[capacity];
+                    System.arraycopy(javadocs, 0, newJavadocs, 0, size);
+                    javadocs = newJavadocs;
+                }
+            }
+            index = size++;
+            names[index] = NAMES.intern(name);
+        }
+        values[index] = value == null ? LeafNode.NULL : value;
+        if (javadoc != null) {
+            if (javadocs == null) {
+                javadocs = new String[names.length];
+            }
+            javadocs[index] = javadoc;
+        }
+        return this;
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < size; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public PojoNode get(String name) {
+        int index = indexOf(name);
+        return index < 0 ? null : values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 作为Map输出时，除__key__外每个条目输出repeat次，第i次的key追加"#i"
+     */
+    public ObjectNode setRepeat(int repeat) {
+        checkNotFrozen();
+        this.repeat = Math.max(1, repeat);
+        return this;
+    }
+
+    @Override
+    public ObjectNode freeze() {
+        if (!frozen) {
+            frozen = true;
+            for (int i = 0; i < size; i++) {
+                values[i].freeze();
+            }
+        }
+        return this;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("ObjectNode is frozen");
+        }
+    }
+
+    @Override
+    public void writeShape(JsonWriter out) throws IOException {
+        out.beginObject();
+        for (int i = 0; i < size; i++) {
+            out.name(names[i]);
+            values[i].writeShape(out);
+        }
+        out.endObject();
+    }
+
+    @Override
+    public void write(JsonWriter out, boolean javadoc, long variant) throws IOException {
+        out.beginObject();
+        for (int i = 0; i < size; i++) {
+            if (javadoc && javadocs != null && javadocs[i] != null) {
+                out.name(JAVA_DOC_KEY + "-" + names[i]).value(javadocs[i]);
+            }
+            out.name(names[i]);
+            if (repeat > 1 && !"__key__".equals(names[i])) {
+                // 与ArrayNode一致，第一份也使用 variant * repeat，避免嵌套展开时与相邻元素重复
+                values[i].write(out, javadoc, variant * repeat);
+                for (int r = 1; r < repeat; r++) {
+                    out.name(names[i] + "#" + r);
+                    values[i].write(out, javadoc, variant * repeat + r);
+                }
+            } else {
+                values[i].write(out, javadoc, variant);
+            }
+        }
+        out.endObject();
+    }
+
+}
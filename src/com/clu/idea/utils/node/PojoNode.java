@@ -0,0 +1,36 @@
+package com.clu.idea.utils.node;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * 转换结果的中间节点，替代原来的 LinkedHashMap/ArrayList/装箱值
+ */
+public abstract class PojoNode {
+
+    PojoNode() {
+    }
+
+    /**
+     * 输出为json
+     * @param out 输出
+     * @param javadoc 是否输出javadoc伪属性（由JavadocFormatWriter转换为注释）
+     * @param variant 重复输出集合元素时的元素序号，0表示原值
+     */
+    public abstract void write(JsonWriter out, boolean javadoc, long variant) throws IOException;
+
+    /**
+     * 输出结构：叶子节点输出类型名，集合只输出一个元素，不含javadoc，用于比较不同版本的转换结果
+     */
+    public abstract void writeShape(JsonWriter out) throws IOException;
+
+    /**
+     * 冻结节点及其子节点，之后的修改抛出IllegalStateException。叶子节点本身不可变
+     * @return this
+     */
+    public PojoNode freeze() {
+        return this;
+    }
+
+}